@@ -0,0 +1,111 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured;
+
+import com.epam.reportportal.listeners.LogLevel;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe registry of shared {@link ReportPortalRestAssuredLoggingFilter} instances.
+ * <p>
+ * The registry returns the same filter instance for the same configuration, so the filter can be safely obtained in different places
+ * (E.G. in {@code RestAssured.filters} and in every {@code RequestSpecification}) without constructing new converters and prettifier maps
+ * each time. Basic usage:
+ * <pre>
+ *     RestAssured.filters(LoggingFilterRegistry.getFilter(42, LogLevel.INFO));
+ * </pre>
+ * A filter with custom converters or settings is registered once under a name, the factory is called only for the first call:
+ * <pre>
+ *     LoggingFilterRegistry.getFilter("api", () -&gt; new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setLogBudget(budget));
+ * </pre>
+ * Shared instances can't be reconfigured: their setters throw {@link IllegalStateException}, so one caller can't silently change the
+ * filter of every other caller. Filters are kept until {@link #remove(String)} or {@link #clear()} call, the registry is meant for a
+ * fixed set of configurations which live as long as the launch.
+ */
+public class LoggingFilterRegistry {
+
+	private static final Map<Object, ReportPortalRestAssuredLoggingFilter> FILTERS = new ConcurrentHashMap<>();
+
+	private LoggingFilterRegistry() {
+		throw new IllegalStateException("Static only class");
+	}
+
+	@Nonnull
+	private static ReportPortalRestAssuredLoggingFilter share(@Nonnull ReportPortalRestAssuredLoggingFilter filter) {
+		filter.share();
+		return filter;
+	}
+
+	/**
+	 * Get or create a filter instance with default converters and settings.
+	 *
+	 * @param filterOrder     filter order, see {@link ReportPortalRestAssuredLoggingFilter#getOrder()}
+	 * @param defaultLogLevel log level on which REST Assured requests/responses will appear on Report Portal
+	 * @return shared filter instance
+	 */
+	@Nonnull
+	public static ReportPortalRestAssuredLoggingFilter getFilter(int filterOrder, @Nonnull LogLevel defaultLogLevel) {
+		return FILTERS.computeIfAbsent(
+				Arrays.asList(filterOrder, defaultLogLevel),
+				k -> share(new ReportPortalRestAssuredLoggingFilter(filterOrder, defaultLogLevel))
+		);
+	}
+
+	/**
+	 * Get or create a named filter instance.
+	 *
+	 * @param name    filter name
+	 * @param factory creates and configures the filter if there is no filter with the name yet
+	 * @return shared filter instance
+	 */
+	@Nonnull
+	public static ReportPortalRestAssuredLoggingFilter getFilter(@Nonnull String name,
+			@Nonnull Supplier<ReportPortalRestAssuredLoggingFilter> factory) {
+		return FILTERS.computeIfAbsent(name, k -> share(factory.get()));
+	}
+
+	/**
+	 * @param name filter name
+	 * @return shared filter instance or {@code null} if there is no filter with the name
+	 */
+	@Nullable
+	public static ReportPortalRestAssuredLoggingFilter getFilter(@Nonnull String name) {
+		return FILTERS.get(name);
+	}
+
+	/**
+	 * Remove a named filter instance.
+	 *
+	 * @param name filter name
+	 */
+	public static void remove(@Nonnull String name) {
+		FILTERS.remove(name);
+	}
+
+	/**
+	 * Remove all registered filter instances.
+	 */
+	public static void clear() {
+		FILTERS.clear();
+	}
+}
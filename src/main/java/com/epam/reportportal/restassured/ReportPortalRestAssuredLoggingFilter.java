@@ -17,34 +17,73 @@
 package com.epam.reportportal.restassured;
 
 import com.epam.reportportal.formatting.AbstractHttpFormatter;
+import com.epam.reportportal.formatting.http.HttpFormatter;
 import com.epam.reportportal.formatting.http.converters.DefaultCookieConverter;
 import com.epam.reportportal.formatting.http.converters.DefaultFormParamConverter;
 import com.epam.reportportal.formatting.http.converters.DefaultHttpHeaderConverter;
 import com.epam.reportportal.formatting.http.converters.DefaultUriConverter;
+import com.epam.reportportal.formatting.http.entities.BodyType;
 import com.epam.reportportal.formatting.http.entities.Cookie;
 import com.epam.reportportal.formatting.http.entities.Header;
 import com.epam.reportportal.formatting.http.entities.Param;
 import com.epam.reportportal.listeners.LogLevel;
+import com.epam.reportportal.message.ReportPortalMessage;
+import com.epam.reportportal.restassured.support.BodyCaptureStrategy;
+import com.epam.reportportal.restassured.support.CapturedBody;
+import com.epam.reportportal.restassured.support.EndpointProfileResolver;
+import com.epam.reportportal.restassured.support.ExchangeAggregator;
+import com.epam.reportportal.restassured.support.ExchangeSnapshot;
+import com.epam.reportportal.restassured.support.ExchangeSpan;
+import com.epam.reportportal.restassured.support.ExchangeStatistics;
+import com.epam.reportportal.restassured.support.GraphQlLogging;
+import com.epam.reportportal.restassured.support.GraphQlOperation;
 import com.epam.reportportal.restassured.support.HttpEntityFactory;
+import com.epam.reportportal.restassured.support.ImageReducer;
+import com.epam.reportportal.restassured.support.LazyPrettifiers;
+import com.epam.reportportal.restassured.support.LogBudget;
+import com.epam.reportportal.restassured.support.LoggingProfile;
+import com.epam.reportportal.restassured.support.RedirectChain;
+import com.epam.reportportal.restassured.support.ResponseDiffer;
+import com.epam.reportportal.restassured.support.SpanRecorder;
+import com.epam.reportportal.restassured.support.SpooledBody;
+import com.epam.reportportal.restassured.support.TextDecoder;
+import com.epam.reportportal.restassured.support.TraceParent;
+import com.epam.reportportal.service.LoggingContext;
 import com.epam.reportportal.service.ReportPortal;
+import com.epam.reportportal.utils.files.ByteSource;
+import com.epam.reportportal.utils.formatting.MarkdownUtils;
+import com.epam.ta.reportportal.ws.model.log.SaveLogRQ;
 import io.restassured.config.LogConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.FilterContext;
 import io.restassured.filter.OrderedFilter;
 import io.restassured.response.Response;
+import io.restassured.response.ResponseBody;
 import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import org.apache.http.HttpHeaders;
+import org.apache.http.entity.ContentType;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
-import static com.epam.reportportal.formatting.http.Constants.REMOVED_TAG;
+import static com.epam.reportportal.formatting.http.HttpFormatUtils.getMimeType;
 import static java.util.Optional.ofNullable;
 
 /**
@@ -59,18 +98,136 @@ import static java.util.Optional.ofNullable;
  * <pre>
  *     RestAssured.filters(new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO));
  * </pre>
+ * <p>
+ * To share the same configured instance across different places of filter registration use {@link LoggingFilterRegistry}.
  */
 public class ReportPortalRestAssuredLoggingFilter extends AbstractHttpFormatter<ReportPortalRestAssuredLoggingFilter>
 		implements OrderedFilter {
 
 	public static final String NULL_RESPONSE = "NULL response from RestAssured";
 
+	/**
+	 * {@link FilterContext} value name which marks a request as being logged at the moment. Any other Report Portal filter instance
+	 * down the chain skips logging of such request, so the same exchange is never logged twice if the filter was registered more than
+	 * once (E.G. in both {@code RestAssured.filters} and a {@code RequestSpecification}).
+	 */
+	public static final String LOGGING_IN_PROGRESS = ReportPortalRestAssuredLoggingFilter.class.getName() + ".LOGGING_IN_PROGRESS";
+
+	/**
+	 * {@link FilterContext} value name of the trace context of the request: parsed incoming {@code traceparent} header or a new trace.
+	 * The span of the request is recorded in this trace.
+	 */
+	public static final String TRACE_PARENT = ReportPortalRestAssuredLoggingFilter.class.getName() + ".TRACE_PARENT";
+
+	/**
+	 * MIME type of the exchange statistics report attached to the launch, see {@link #logStatistics()}.
+	 */
+	public static final String STATISTICS_MIME_TYPE = "text/markdown";
+
+	private static final String RESPONSE_IMAGE = "Response image";
+	private static final String SPOOL_FAILURE = "%s, unable to read the spooled body: %s";
+	private static final String DIFFED_RESPONSE = "**<<< RESPONSE**\n%s\n\n**Body**\n```\n%s\n```";
+
 	private final List<Predicate<FilterableRequestSpecification>> requestFilters = new CopyOnWriteArrayList<>();
 
+	private final List<Predicate<GraphQlOperation>> graphQlOperationFilters = new CopyOnWriteArrayList<>();
+
 	private final int order;
 
 	protected final Function<Param, String> paramConverter;
 
+	// Created on the first rule, most filters have none
+	private volatile EndpointProfileResolver profileResolver;
+
+	private final Map<LogLevel, LevelEmitter> levelEmitters = new ConcurrentHashMap<>();
+
+	private volatile LogBudget logBudget;
+
+	private volatile ExchangeAggregator aggregator;
+
+	private volatile ImageReducer imageReducer;
+
+	private final Map<String, BodyCaptureStrategy> bodyCaptureStrategies = new ConcurrentHashMap<>();
+
+	private volatile BodyCaptureStrategy defaultBodyCaptureStrategy;
+
+	private volatile ExchangeStatistics statistics;
+
+	private volatile ResponseDiffer responseDiffer;
+
+	private volatile SpanRecorder spanRecorder;
+
+	private volatile GraphQlLogging graphQlLogging;
+
+	private volatile boolean redirectLogging;
+
+	// Kept as is instead of the formatter's copy, which would resolve every prettifier
+	private volatile LazyPrettifiers lazyPrettifiers;
+
+	// Set once the instance is shared through LoggingFilterRegistry
+	private volatile boolean shared;
+
+	/**
+	 * Spooled body which is logged as a separate entry after the exchange entry.
+	 */
+	private static final class PendingAttachment {
+		private final SpooledBody body;
+		private final String mimeType;
+		private final String message;
+
+		private PendingAttachment(@Nonnull SpooledBody body, @Nonnull String mimeType, @Nonnull String message) {
+			this.body = body;
+			this.mimeType = mimeType;
+			this.message = message;
+		}
+
+		@Nonnull
+		private SaveLogRQ toRequest(@Nonnull String itemUuid, @Nonnull String level, @Nonnull Instant time) {
+			try {
+				return saveLogRequest(itemUuid, level, time, message, mimeType, body.readAndDelete());
+			} catch (IOException e) {
+				return saveLogRequest(itemUuid, level, time, String.format(SPOOL_FAILURE, message, e.getMessage()), mimeType, null);
+			}
+		}
+	}
+
+	/**
+	 * Bytes acquired from a {@link LogBudget}, released once, by whichever comes first: Report Portal client creating the log request or
+	 * the filter failing to hand the entry over.
+	 */
+	private static final class BudgetLease implements Runnable {
+		private final LogBudget budget;
+		private final long size;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private BudgetLease(@Nonnull LogBudget budget, long size) {
+			this.budget = budget;
+			this.size = size;
+		}
+
+		@Override
+		public void run() {
+			if (released.compareAndSet(false, true)) {
+				budget.release(size);
+			}
+		}
+	}
+
+	/**
+	 * Formatter which emits logs on a log level different from the filter's default one.
+	 */
+	private static class LevelEmitter extends AbstractHttpFormatter<LevelEmitter> {
+		private LevelEmitter(@Nonnull LogLevel level, @Nullable Function<Header, String> headerConverter,
+				@Nullable Function<Header, String> partHeaderConverter, @Nullable Function<Cookie, String> cookieConverter,
+				@Nullable Function<String, String> uriConverter) {
+			super(level, headerConverter, partHeaderConverter, cookieConverter, uriConverter);
+		}
+
+		private void log(@Nonnull HttpFormatter formatter) {
+			emitLog(formatter);
+		}
+	}
+
 	/**
 	 * Create an ordered REST Assured filter with the log level and different converters.
 	 *
@@ -184,6 +341,52 @@ public class ReportPortalRestAssuredLoggingFilter extends AbstractHttpFormatter<
 		this(filterOrder, defaultLogLevel, DefaultHttpHeaderConverter.INSTANCE, DefaultHttpHeaderConverter.INSTANCE);
 	}
 
+	/**
+	 * Forbid further configuration changes, since the instance is used by several callers.
+	 */
+	void share() {
+		shared = true;
+	}
+
+	private void checkNotShared() {
+		if (shared) {
+			throw new IllegalStateException("The filter is shared through LoggingFilterRegistry and can't be reconfigured");
+		}
+	}
+
+	@Override
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setBodyTypeMap(@Nonnull Map<String, BodyType> typeMap) {
+		checkNotShared();
+		return super.setBodyTypeMap(typeMap);
+	}
+
+	/**
+	 * Set content prettifiers by MIME type. Default prettifiers of the formatting library are created with the filter, pass
+	 * {@link LazyPrettifiers} to create every prettifier only when a body of its MIME type is logged for the first time.
+	 *
+	 * @param contentPrettifiers prettifiers by MIME type
+	 * @return the filter instance
+	 */
+	@Override
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setContentPrettifiers(@Nonnull Map<String, Function<String, String>> contentPrettifiers) {
+		checkNotShared();
+		if (contentPrettifiers instanceof LazyPrettifiers) {
+			lazyPrettifiers = (LazyPrettifiers) contentPrettifiers;
+			return this;
+		}
+		lazyPrettifiers = null;
+		return super.setContentPrettifiers(contentPrettifiers);
+	}
+
+	@Override
+	@Nonnull
+	public Map<String, Function<String, String>> getContentPrettifiers() {
+		LazyPrettifiers lazy = lazyPrettifiers;
+		return lazy == null ? super.getContentPrettifiers() : lazy;
+	}
+
 	@Override
 	public int getOrder() {
 		return order;
@@ -191,7 +394,14 @@ public class ReportPortalRestAssuredLoggingFilter extends AbstractHttpFormatter<
 
 	@Override
 	public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
-		if (requestSpec == null || requestFilters.stream().anyMatch(f -> f.test(requestSpec))) {
+		if (requestSpec == null || Boolean.TRUE.equals(ctx.getValue(LOGGING_IN_PROGRESS)) || isFiltered(requestSpec)) {
+			return ctx.next(requestSpec, responseSpec);
+		}
+		// The operation is extracted once and used by logging, statistics and spans through the exchange snapshot
+		GraphQlOperation operation = graphQlLogging == null ?
+				null :
+				HttpEntityFactory.detectGraphQlOperation(requestSpec.getContentType(), requestSpec.getBody());
+		if (operation != null && isFiltered(operation)) {
 			return ctx.next(requestSpec, responseSpec);
 		}
 
@@ -199,41 +409,507 @@ public class ReportPortalRestAssuredLoggingFilter extends AbstractHttpFormatter<
 				.map(LogConfig::blacklistedHeaders)
 				.filter(headers -> !headers.isEmpty())
 				.orElse(null);
-		Function<Header, String> myHeaderConverter = headerConverter;
-		if (blacklistedHeaders != null) {
-			myHeaderConverter = header -> {
-				if (!blacklistedHeaders.contains(header.getName())) {
-					return headerConverter.apply(header);
+
+		TraceParent span = spanRecorder == null ? null : injectTraceParent(requestSpec, ctx);
+
+		EndpointProfileResolver resolver = profileResolver;
+		LoggingProfile profile = resolver == null ?
+				LoggingProfile.DEFAULT :
+				resolver.resolve(requestSpec.getMethod(), requestSpec.getURI());
+		ExchangeSnapshot exchange = ExchangeSnapshot.captureRequest(requestSpec, blacklistedHeaders, profile);
+		if (operation != null) {
+			exchange = exchange.withGraphQlOperation(operation);
+		}
+		ImageReducer reducer = imageReducer;
+		// Uploaded images are reduced in background while the request is being sent, so the request is logged after it
+		ImageReducer.Preview requestPreview = reducer != null && profile.isLogBody() ?
+				reducer.submit(exchange.getRequestContentType(), exchange.getRequestBody()) :
+				null;
+		// Redirects are followed by the HTTP client and never reach filters, so they are recorded by the client itself
+		RedirectChain redirects = redirectLogging ? RedirectChain.install(requestSpec, blacklistedHeaders) : null;
+		ExchangeAggregator exchangeAggregator = aggregator;
+		if (exchangeAggregator != null) {
+			return filterAggregated(exchangeAggregator, exchange, requestPreview, redirects, profile, span, requestSpec, responseSpec, ctx);
+		}
+		boolean logged = requestPreview == null && logRequest(exchange, profile);
+		Response response;
+		ctx.setValue(LOGGING_IN_PROGRESS, Boolean.TRUE);
+		try {
+			response = next(exchange, span, ctx.getValue(TRACE_PARENT), requestSpec, responseSpec, ctx);
+		} finally {
+			ctx.setValue(LOGGING_IN_PROGRESS, Boolean.FALSE);
+			if (redirects != null) {
+				redirects.close();
+			}
+			if (requestPreview != null) {
+				logged = logRequest(exchange, requestPreview, profile);
+			}
+		}
+		if (logged) {
+			logRedirects(redirects, profile);
+			logResponse(exchange, response, profile);
+		}
+		return response;
+	}
+
+	private Response filterAggregated(@Nonnull ExchangeAggregator exchangeAggregator, @Nonnull ExchangeSnapshot exchange,
+			@Nullable ImageReducer.Preview requestPreview, @Nullable RedirectChain redirects, @Nonnull LoggingProfile profile,
+			@Nullable TraceParent span, FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+			FilterContext ctx) {
+		Response response;
+		boolean completed = false;
+		long startTime = System.nanoTime();
+		ctx.setValue(LOGGING_IN_PROGRESS, Boolean.TRUE);
+		try {
+			response = next(exchange, span, ctx.getValue(TRACE_PARENT), requestSpec, responseSpec, ctx);
+			completed = true;
+		} finally {
+			ctx.setValue(LOGGING_IN_PROGRESS, Boolean.FALSE);
+			if (redirects != null) {
+				redirects.close();
+			}
+			if (!completed) {
+				// Failed exchanges are never aggregated, the request is logged the same way as without aggregation
+				exchangeAggregator.flush();
+				logRequest(exchange, requestPreview, profile);
+			}
+		}
+		long latency = System.nanoTime() - startTime;
+		if (response == null) {
+			exchangeAggregator.flush();
+			if (logRequest(exchange, requestPreview, profile)) {
+				logResponse(exchange, null, profile);
+			}
+			return null;
+		}
+		String uri = ofNullable(uriConverter).map(c -> c.apply(exchange.getUri())).orElse(exchange.getUri());
+		// Summaries are logged to the test item of the series, with the level of its first exchange, even if they are flushed later by the
+		// expiry timer, which has no logging context of its own
+		LoggingContext item = LoggingContext.context();
+		String level = getLogLevel(profile);
+		if (exchangeAggregator.record(
+				exchange.withResponse(response, profile),
+				uri,
+				latency,
+				item,
+				summary -> emitSummary(item, level, summary)
+		)) {
+			if (logRequest(exchange, requestPreview, profile)) {
+				logRedirects(redirects, profile);
+				logResponse(exchange, response, profile);
+			}
+		}
+		return response;
+	}
+
+	private static void emitSummary(@Nullable LoggingContext item, @Nonnull String level, @Nonnull String summary) {
+		if (item == null) {
+			ReportPortal.emitLog(summary, level, Instant.now());
+			return;
+		}
+		Instant time = Instant.now();
+		item.emit(itemUuid -> {
+			SaveLogRQ rq = new SaveLogRQ();
+			rq.setItemUuid(itemUuid);
+			rq.setLevel(level);
+			rq.setLogTime(time);
+			rq.setMessage(summary);
+			return rq;
+		});
+	}
+
+	private static long getBodySize(@Nonnull Response response) {
+		String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+		if (contentLength != null) {
+			try {
+				return Long.parseLong(contentLength.trim());
+			} catch (NumberFormatException ignore) {
+				// Fall back to the body size
+			}
+		}
+		return ofNullable(response.getBody()).map(ResponseBody::asByteArray).map(b -> (long) b.length).orElse(0L);
+	}
+
+	@Nonnull
+	private static TraceParent injectTraceParent(@Nonnull FilterableRequestSpecification requestSpec, @Nonnull FilterContext ctx) {
+		TraceParent parent = ctx.getValue(TRACE_PARENT);
+		if (parent == null) {
+			parent = ofNullable(requestSpec.getHeaders()).map(h -> h.getValue(TraceParent.HEADER_NAME))
+					.map(TraceParent::parse)
+					.orElseGet(TraceParent::newTrace);
+			ctx.setValue(TRACE_PARENT, parent);
+		}
+		TraceParent span = parent.newSpan();
+		requestSpec.removeHeader(TraceParent.HEADER_NAME);
+		requestSpec.header(TraceParent.HEADER_NAME, span.toString());
+		return span;
+	}
+
+	private Response next(@Nonnull ExchangeSnapshot exchange, @Nullable TraceParent span, @Nullable TraceParent parent,
+			FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+		ExchangeStatistics exchangeStatistics = statistics;
+		SpanRecorder recorder = span == null ? null : spanRecorder;
+		if (exchangeStatistics == null && recorder == null) {
+			return ctx.next(requestSpec, responseSpec);
+		}
+		Response response = null;
+		Throwable error = null;
+		Instant startInstant = Instant.now();
+		long startTime = System.nanoTime();
+		try {
+			response = ctx.next(requestSpec, responseSpec);
+			return response;
+		} catch (RuntimeException | Error e) {
+			error = e;
+			throw e;
+		} finally {
+			long latency = System.nanoTime() - startTime;
+			int statusCode = response == null ? 0 : response.statusCode();
+			long bytesSent = exchange.getRequestBodySize();
+			long bytesReceived = response == null ? 0 : getBodySize(response);
+			GraphQlOperation operation = exchange.getGraphQlOperation();
+			if (exchangeStatistics != null) {
+				exchangeStatistics.record(
+						exchange.getMethod(),
+						exchange.getUri(),
+						operation == null ? null : operation.getKey(),
+						statusCode,
+						latency,
+						bytesSent,
+						bytesReceived
+				);
+			}
+			if (recorder != null) {
+				long startEpochNanos = TimeUnit.SECONDS.toNanos(startInstant.getEpochSecond()) + startInstant.getNano();
+				recorder.record(new ExchangeSpan.Builder(
+						span.getTraceId(),
+						span.getSpanId(),
+						operation == null ? exchange.getMethod() + " " + ExchangeStatistics.normalizeUri(exchange.getUri()) : operation.getKey()
+				).parentSpanId(parent != null && parent.isRemote() ? parent.getSpanId() : null)
+						.graphQlOperation(operation)
+						.request(exchange.getMethod(), exchange.getUri(), bytesSent)
+						.response(statusCode, bytesReceived)
+						.time(startEpochNanos, startEpochNanos + latency)
+						.error(error == null ? null : error.getClass().getName())
+						.build());
+			}
+		}
+	}
+
+	private boolean isFiltered(@Nonnull FilterableRequestSpecification requestSpec) {
+		for (Predicate<FilterableRequestSpecification> requestFilter : requestFilters) {
+			if (requestFilter.test(requestSpec)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Nullable
+	private Function<String, BodyCaptureStrategy> getBodyCapture() {
+		if (bodyCaptureStrategies.isEmpty() && defaultBodyCaptureStrategy == null) {
+			return null;
+		}
+		return this::getBodyCaptureStrategy;
+	}
+
+	private boolean isFiltered(@Nonnull GraphQlOperation operation) {
+		for (Predicate<GraphQlOperation> operationFilter : graphQlOperationFilters) {
+			if (operationFilter.test(operation)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Nullable
+	private Function<String, BodyCaptureStrategy> getBodyCapture(@Nonnull ExchangeSnapshot exchange, boolean request) {
+		Function<String, BodyCaptureStrategy> bodyCapture = getBodyCapture();
+		GraphQlLogging graphQl = graphQlLogging;
+		GraphQlOperation operation = exchange.getGraphQlOperation();
+		if (graphQl == null || operation == null) {
+			return bodyCapture;
+		}
+		LoggingContext item = LoggingContext.context();
+		return mimeType -> {
+			BodyCaptureStrategy strategy = bodyCapture == null ? null : bodyCapture.apply(mimeType);
+			if (!TextDecoder.isJson(mimeType) && !GraphQlOperation.GRAPHQL_MIME_TYPE.equalsIgnoreCase(mimeType)) {
+				return strategy;
+			}
+			return request ?
+					graphQl.requestCapture(operation, item) :
+					graphQl.responseCapture(exchange.getResponseContentType(), strategy);
+		};
+	}
+
+	/**
+	 * Wrap body capture strategies, so bodies which they attach as separate entries are collected to log them after the exchange entry.
+	 */
+	@Nullable
+	private static Function<String, BodyCaptureStrategy> collectAttachments(@Nullable Function<String, BodyCaptureStrategy> bodyCapture,
+			@Nonnull List<PendingAttachment> attachments) {
+		if (bodyCapture == null) {
+			return null;
+		}
+		return mimeType -> {
+			BodyCaptureStrategy strategy = bodyCapture.apply(mimeType);
+			if (strategy == null) {
+				return null;
+			}
+			return body -> {
+				CapturedBody captured = strategy.capture(body);
+				SpooledBody attachment = captured.getAttachment();
+				if (attachment != null) {
+					attachments.add(new PendingAttachment(
+							attachment,
+							ofNullable(mimeType).orElse(ContentType.APPLICATION_OCTET_STREAM.getMimeType()),
+							captured.getSummary()
+					));
 				}
-				Header newHeader = header.clone();
-				newHeader.setValue(REMOVED_TAG);
-				return headerConverter.apply(newHeader);
+				return captured;
 			};
+		};
+	}
+
+	private void emitAttachments(@Nonnull List<PendingAttachment> attachments, @Nonnull LoggingProfile profile) {
+		String level = getLogLevel(profile);
+		for (PendingAttachment attachment : attachments) {
+			Instant time = Instant.now();
+			// The file is read and deleted when the client creates the entry, a file of an entry which can't be sent is deleted right away
+			if (!ReportPortal.emitLog(itemUuid -> attachment.toRequest(itemUuid, level, time))) {
+				attachment.body.discard();
+			}
 		}
+	}
 
-		emitLog(HttpEntityFactory.createHttpRequestFormatter(
-				requestSpec,
-				uriConverter,
-				myHeaderConverter,
-				cookieConverter,
-				paramConverter,
-				getContentPrettifiers(),
-				partHeaderConverter,
-				getBodyTypeMap()
-		));
-		Response response = ctx.next(requestSpec, responseSpec);
+	@Nonnull
+	private String getLogLevel(@Nonnull LoggingProfile profile) {
+		return ofNullable(profile.getLogLevel()).map(LogLevel::name).orElse(logLevel);
+	}
+
+	private void emitLog(@Nonnull LoggingProfile profile, @Nonnull HttpFormatter formatter) {
+		LogLevel level = profile.getLogLevel();
+		if (level == null || level.name().equals(logLevel)) {
+			emitLog(formatter);
+			return;
+		}
+		levelEmitters.computeIfAbsent(
+				level,
+				l -> new LevelEmitter(l, headerConverter, partHeaderConverter, cookieConverter, uriConverter)
+		).log(formatter);
+	}
+
+	/**
+	 * Emit an entry which holds its budget bytes until Report Portal client creates the log request, so entries waiting in the client
+	 * for their test item are counted too. Multipart entries are logged as several entries by the formatting library, they hold the bytes
+	 * only until they are emitted.
+	 *
+	 * @return {@code true} if the entry is handed over to the client, which releases the bytes
+	 */
+	private boolean emitHoldingBudget(@Nonnull LoggingProfile profile, @Nonnull HttpFormatter formatter, @Nonnull Runnable release) {
+		String message;
+		byte[] data = null;
+		String mimeType = ContentType.APPLICATION_OCTET_STREAM.getMimeType();
+		switch (formatter.getType()) {
+			case TEXT:
+			case FORM:
+				message = formatter.formatAsText();
+				break;
+			case BINARY:
+				message = formatter.formatHead();
+				data = formatter.getBinaryBody();
+				mimeType = ofNullable(formatter.getMimeType()).orElse(mimeType);
+				break;
+			case NONE:
+				message = formatter.formatHead();
+				break;
+			default:
+				emitLog(profile, formatter);
+				return false;
+		}
+		String level = getLogLevel(profile);
+		Instant time = Instant.now();
+		byte[] body = data;
+		String type = mimeType;
+		return ReportPortal.emitLog(itemUuid -> {
+			try {
+				return saveLogRequest(itemUuid, level, time, message, type, body);
+			} finally {
+				release.run();
+			}
+		});
+	}
+
+	private void keepOriginal(@Nullable ImageReducer.Preview preview, @Nonnull LoggingProfile profile) {
+		if (preview == null) {
+			return;
+		}
+		ReportPortalMessage original = preview.getReducer().keepOriginal(preview);
+		if (original != null) {
+			ReportPortal.emitLog(original, getLogLevel(profile), Instant.now());
+		}
+	}
+
+	private boolean logRequest(@Nonnull ExchangeSnapshot exchange, @Nullable ImageReducer.Preview preview,
+			@Nonnull LoggingProfile profile) {
+		if (preview == null) {
+			return logRequest(exchange, profile);
+		}
+		boolean logged = logRequest(exchange.withRequestBody(preview.get()), profile);
+		if (logged) {
+			keepOriginal(preview, profile);
+		}
+		return logged;
+	}
+
+	@Nonnull
+	private static SaveLogRQ saveLogRequest(@Nonnull String itemUuid, @Nonnull String level, @Nonnull Instant time,
+			@Nonnull String message, @Nonnull String mimeType, @Nullable byte[] data) {
+		SaveLogRQ rq = new SaveLogRQ();
+		rq.setItemUuid(itemUuid);
+		rq.setLevel(level);
+		rq.setLogTime(time);
+		rq.setMessage(message);
+		if (data != null) {
+			SaveLogRQ.File file = new SaveLogRQ.File();
+			file.setName(UUID.randomUUID().toString());
+			file.setContentType(mimeType);
+			file.setContent(data);
+			rq.setFile(file);
+		}
+		return rq;
+	}
+
+	private static void emitAttachment(@Nonnull LoggingContext item, @Nonnull String level, @Nonnull String message,
+			@Nonnull String mimeType, @Nonnull byte[] data) {
+		Instant time = Instant.now();
+		item.emit(itemUuid -> saveLogRequest(itemUuid, level, time, message, mimeType, data));
+	}
+
+	private void logPreviewWhenReady(@Nonnull LoggingContext item, @Nonnull ImageReducer.Preview preview,
+			@Nonnull LoggingProfile profile) {
+		String level = getLogLevel(profile);
+		ImageReducer reducer = preview.getReducer();
+		if (reducer.getOriginalPolicy() == ImageReducer.OriginalPolicy.KEEP_ON_FAILURE) {
+			// Originals are retained in the test thread, the ones which turn out not to be reduced are dropped on drain
+			reducer.keepOriginal(preview);
+		}
+		preview.whenReady(data -> {
+			emitAttachment(item, level, RESPONSE_IMAGE, preview.getMimeType(), data);
+			if (reducer.getOriginalPolicy() == ImageReducer.OriginalPolicy.KEEP) {
+				ReportPortalMessage original = reducer.keepOriginal(preview);
+				if (original != null) {
+					emitAttachment(item, level, original.getMessage(), preview.getMimeType(), preview.getOriginal());
+				}
+			}
+		});
+	}
+
+	private boolean logRequest(@Nonnull ExchangeSnapshot exchange, @Nonnull LoggingProfile profile) {
+		LogBudget budget = logBudget;
+		long size = budget == null ? 0 : HttpEntityFactory.estimateRequestSize(exchange);
+		LogBudget.Decision decision = budget == null ? LogBudget.Decision.FULL : budget.acquire(size);
+		if (decision == LogBudget.Decision.SKIP) {
+			return false;
+		}
+		List<PendingAttachment> attachments = new ArrayList<>(0);
+		Runnable release = budget != null && decision == LogBudget.Decision.FULL ? new BudgetLease(budget, size) : null;
+		boolean handedOver = false;
+		try {
+			HttpFormatter formatter = HttpEntityFactory.createHttpRequestFormatter(
+					exchange,
+					uriConverter,
+					headerConverter,
+					cookieConverter,
+					paramConverter,
+					getContentPrettifiers(),
+					partHeaderConverter,
+					getBodyTypeMap(),
+					decision == LogBudget.Decision.FULL ? profile : profile.withoutBody(),
+					collectAttachments(getBodyCapture(exchange, true), attachments)
+			);
+			if (release == null) {
+				emitLog(profile, formatter);
+			} else {
+				handedOver = emitHoldingBudget(profile, formatter, release);
+			}
+		} finally {
+			if (release != null && !handedOver) {
+				release.run();
+			}
+		}
+		emitAttachments(attachments, profile);
+		return true;
+	}
+
+	private void logRedirects(@Nullable RedirectChain redirects, @Nonnull LoggingProfile profile) {
+		String message = redirects == null ? null : redirects.format(profile.isLogHeaders() ? headerConverter : null, profile.isLogBody());
+		if (message != null) {
+			ReportPortal.emitLog(message, getLogLevel(profile), Instant.now());
+		}
+	}
+
+	private void logResponse(@Nonnull ExchangeSnapshot request, @Nullable Response response, @Nonnull LoggingProfile profile) {
 		if (response == null) {
-			ReportPortal.emitLog(NULL_RESPONSE, logLevel, Instant.now());
-		} else {
-			emitLog(HttpEntityFactory.createHttpResponseFormatter(
-					response,
-					myHeaderConverter,
+			ReportPortal.emitLog(NULL_RESPONSE, getLogLevel(profile), Instant.now());
+			return;
+		}
+		ExchangeSnapshot exchange = request.withResponse(response, profile);
+		ResponseDiffer differ = responseDiffer;
+		// A diffed response is logged with its status line, headers and cookies, the diff is logged in place of the body
+		String bodyDiff = differ != null && profile.isLogBody() ? differ.diff(exchange, LoggingContext.context()) : null;
+		ImageReducer reducer = imageReducer;
+		ImageReducer.Preview preview = null;
+		LoggingProfile responseProfile = profile;
+		if (bodyDiff == null && reducer != null && profile.isLogBody() && ImageReducer.isImage(exchange.getResponseContentType())) {
+			preview = reducer.submit(exchange.getResponseContentType(), exchange.getResponseBodyBytes());
+			LoggingContext item = LoggingContext.context();
+			if (preview != null && item != null) {
+				// The response is logged right away without the image, the preview is attached to the same item once it's ready
+				logPreviewWhenReady(item, preview, profile);
+				responseProfile = profile.withoutBody();
+				preview = null;
+			} else if (preview != null) {
+				// Outside a test item there is no context to attach a deferred preview to
+				exchange = exchange.withResponseBody(preview.get());
+			}
+		}
+		LogBudget budget = logBudget;
+		long size = budget == null ? 0 : HttpEntityFactory.estimateResponseSize(exchange);
+		LogBudget.Decision decision = budget == null ? LogBudget.Decision.FULL : budget.acquire(size);
+		if (decision == LogBudget.Decision.SKIP) {
+			return;
+		}
+		List<PendingAttachment> attachments = new ArrayList<>(0);
+		Function<String, BodyCaptureStrategy> bodyCapture = bodyDiff == null ?
+				collectAttachments(getBodyCapture(exchange, false), attachments) :
+				mimeType -> body -> CapturedBody.summary(bodyDiff);
+		Runnable release = budget != null && decision == LogBudget.Decision.FULL ? new BudgetLease(budget, size) : null;
+		boolean handedOver = false;
+		try {
+			HttpFormatter formatter = HttpEntityFactory.createHttpResponseFormatter(
+					exchange,
+					headerConverter,
 					cookieConverter,
 					getContentPrettifiers(),
-					getBodyTypeMap()
-			));
+					getBodyTypeMap(),
+					decision == LogBudget.Decision.FULL ? responseProfile : profile.withoutBody(),
+					bodyCapture
+			);
+			if (release == null) {
+				emitLog(profile, formatter);
+			} else {
+				handedOver = emitHoldingBudget(profile, formatter, release);
+			}
+		} finally {
+			if (release != null && !handedOver) {
+				release.run();
+			}
+		}
+		emitAttachments(attachments, profile);
+		if (decision == LogBudget.Decision.FULL) {
+			keepOriginal(preview, profile);
 		}
-		return response;
 	}
 
 	/**
@@ -247,7 +923,364 @@ public class ReportPortalRestAssuredLoggingFilter extends AbstractHttpFormatter<
 	 */
 	@Nonnull
 	public ReportPortalRestAssuredLoggingFilter addRequestFilter(@Nonnull Predicate<FilterableRequestSpecification> requestFilter) {
+		checkNotShared();
 		requestFilters.add(requestFilter);
 		return this;
 	}
+
+	/**
+	 * Set a budget of payload bytes of log entries which are formatted or wait in Report Portal client for their test item. An entry holds
+	 * its bytes until the client creates its log request; requests batched for sending are not covered. By default, the filter is not
+	 * limited.
+	 *
+	 * @param budget the budget or {@code null} to remove the limit
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setLogBudget(@Nullable LogBudget budget) {
+		checkNotShared();
+		logBudget = budget;
+		return this;
+	}
+
+	/**
+	 * @return current budget of payload bytes or {@code null} if the filter is not limited
+	 */
+	@Nullable
+	public LogBudget getLogBudget() {
+		return logBudget;
+	}
+
+	/**
+	 * Add a verbosity rule for an endpoint. Rules are checked in order of addition, the first matching one defines log level, which
+	 * parts of requests and responses are logged and body size limit. Requests which don't match any rule are logged in full on the
+	 * filter's default log level.
+	 *
+	 * @param method     HTTP method or {@code null} to match any method
+	 * @param uriPattern regular expression to match request URI without query string
+	 * @param profile    verbosity profile for matching requests
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter addEndpointRule(@Nullable String method, @Nonnull String uriPattern,
+			@Nonnull LoggingProfile profile) {
+		checkNotShared();
+		EndpointProfileResolver resolver = profileResolver;
+		if (resolver == null) {
+			synchronized (this) {
+				resolver = profileResolver;
+				if (resolver == null) {
+					resolver = new EndpointProfileResolver();
+					profileResolver = resolver;
+				}
+			}
+		}
+		resolver.addRule(method, uriPattern, profile);
+		return this;
+	}
+
+	/**
+	 * Collapse consecutive identical exchanges into one summary entry. The first exchange of a series is logged in full, the following
+	 * exchanges with the same method, URI, status and bodies within the window are only counted. The summary is logged to the test item of
+	 * the series once the series is broken by a different exchange or a new test item, the window expires or on {@link #flushAggregates()}
+	 * call. By default, aggregation is disabled.
+	 *
+	 * @param window maximum duration of a series or {@code null} to disable aggregation
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setAggregationWindow(@Nullable Duration window) {
+		checkNotShared();
+		ExchangeAggregator previous = aggregator;
+		aggregator = ofNullable(window).map(ExchangeAggregator::new).orElse(null);
+		if (previous != null) {
+			previous.close();
+		}
+		return this;
+	}
+
+	/**
+	 * Log the summary of the current series of identical exchanges of the calling thread, if any, without waiting for the window to
+	 * expire.
+	 */
+	public void flushAggregates() {
+		ExchangeAggregator exchangeAggregator = aggregator;
+		if (exchangeAggregator != null) {
+			exchangeAggregator.flush();
+		}
+	}
+
+	/**
+	 * Reduce image bodies above the reducer's thresholds to bounded-size previews. By default, images are logged as is.
+	 * <p>
+	 * Request images are reduced while the request is being sent. Response images don't hold the test: the response is logged without the
+	 * body and the preview is attached to the same test item as a separate entry once it's ready. The reducer is not closed by the filter.
+	 *
+	 * @param reducer image reducer or {@code null} to log images as is
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setImageReducer(@Nullable ImageReducer reducer) {
+		checkNotShared();
+		imageReducer = reducer;
+		return this;
+	}
+
+	/**
+	 * @return current image reducer or {@code null} if images are logged as is
+	 */
+	@Nullable
+	public ImageReducer getImageReducer() {
+		return imageReducer;
+	}
+
+	/**
+	 * Log originals of reduced images retained in the calling thread with
+	 * {@link ImageReducer.OriginalPolicy#KEEP_ON_FAILURE} policy. Should be called when a test fails.
+	 */
+	public void logRetainedImages() {
+		ImageReducer reducer = imageReducer;
+		if (reducer != null) {
+			reducer.drainRetained().forEach(message -> ReportPortal.emitLog(message, logLevel, Instant.now()));
+		}
+	}
+
+	/**
+	 * Drop originals of reduced images retained in the calling thread. Should be called when a test passes.
+	 */
+	public void discardRetainedImages() {
+		ImageReducer reducer = imageReducer;
+		if (reducer != null) {
+			reducer.discardRetained();
+		}
+	}
+
+	/**
+	 * Set how bodies of the given MIME type are captured for logging, E.G. {@link com.epam.reportportal.restassured.support.HashBodyCapture}
+	 * to log only size and digest of large binary payloads. Applies to request, response and multipart part bodies.
+	 *
+	 * @param mimeType body MIME type, without parameters
+	 * @param strategy capture strategy or {@code null} to use the default one
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setBodyCaptureStrategy(@Nonnull String mimeType, @Nullable BodyCaptureStrategy strategy) {
+		checkNotShared();
+		if (strategy == null) {
+			bodyCaptureStrategies.remove(mimeType.toLowerCase(Locale.ROOT));
+		} else {
+			bodyCaptureStrategies.put(mimeType.toLowerCase(Locale.ROOT), strategy);
+		}
+		return this;
+	}
+
+	/**
+	 * Set how bodies of MIME types without a specific strategy are captured for logging. By default, the whole body is logged.
+	 *
+	 * @param strategy capture strategy or {@code null} to log whole bodies
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setDefaultBodyCaptureStrategy(@Nullable BodyCaptureStrategy strategy) {
+		checkNotShared();
+		defaultBodyCaptureStrategy = strategy;
+		return this;
+	}
+
+	/**
+	 * @param mimeType body MIME type
+	 * @return capture strategy for the MIME type or {@code null} if the whole body is logged
+	 */
+	@Nullable
+	public BodyCaptureStrategy getBodyCaptureStrategy(@Nullable String mimeType) {
+		BodyCaptureStrategy strategy = mimeType == null ? null : bodyCaptureStrategies.get(mimeType.toLowerCase(Locale.ROOT));
+		return strategy == null ? defaultBodyCaptureStrategy : strategy;
+	}
+
+	/**
+	 * Count every logged exchange in launch statistics: calls, status distribution, latency percentiles and transferred bytes per
+	 * method and URI template. Statistics may be shared between filter instances. By default, exchanges are not counted.
+	 *
+	 * @param exchangeStatistics statistics to count exchanges in or {@code null} to stop counting
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setStatistics(@Nullable ExchangeStatistics exchangeStatistics) {
+		checkNotShared();
+		statistics = exchangeStatistics;
+		return this;
+	}
+
+	/**
+	 * @return current exchange statistics or {@code null} if exchanges are not counted
+	 */
+	@Nullable
+	public ExchangeStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Log the statistics report to the launch as a Markdown message with the report attached. Should be called once at the end of the
+	 * launch, E.G. in a suite teardown.
+	 */
+	public void logStatistics() {
+		ExchangeStatistics exchangeStatistics = statistics;
+		if (exchangeStatistics != null) {
+			String report = exchangeStatistics.report();
+			ReportPortal.emitLaunchLog(
+					new ReportPortalMessage(
+							ByteSource.wrap(report.getBytes(StandardCharsets.UTF_8)),
+							STATISTICS_MIME_TYPE,
+							MarkdownUtils.asMarkdown(report)
+					), logLevel, Instant.now()
+			);
+		}
+	}
+
+	/**
+	 * Log JSON responses as structural diffs to the last full response of the same endpoint. Diffing is applied to responses which
+	 * are logged with body. By default, responses are logged in full.
+	 *
+	 * @param differ response differ or {@code null} to log responses in full
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setResponseDiffer(@Nullable ResponseDiffer differ) {
+		checkNotShared();
+		responseDiffer = differ;
+		return this;
+	}
+
+	/**
+	 * @return current response differ or {@code null} if responses are logged in full
+	 */
+	@Nullable
+	public ResponseDiffer getResponseDiffer() {
+		return responseDiffer;
+	}
+
+	/**
+	 * Log in full the responses of the calling thread which were logged as diffs: status line and body, headers are not retained.
+	 * Should be called when a test fails.
+	 */
+	public void logDiffedResponses() {
+		ResponseDiffer differ = responseDiffer;
+		if (differ == null) {
+			return;
+		}
+		EndpointProfileResolver resolver = profileResolver;
+		for (ResponseDiffer.DiffedResponse response : differ.drainRetained()) {
+			LoggingProfile profile = resolver == null ? LoggingProfile.DEFAULT : resolver.resolve(response.getMethod(), response.getUri());
+			String body = response.getBody();
+			String mimeType = getMimeType(response.getContentType());
+			Function<String, String> prettifier = getContentPrettifiers().get(mimeType);
+			ReportPortal.emitLog(
+					String.format(DIFFED_RESPONSE, response.getStatusLine(), prettifier == null ? body : prettifier.apply(body)),
+					getLogLevel(profile),
+					Instant.now()
+			);
+		}
+	}
+
+	/**
+	 * Forget the responses of the calling thread which were logged as diffs. Should be called when a test passes.
+	 */
+	public void discardDiffedResponses() {
+		ResponseDiffer differ = responseDiffer;
+		if (differ != null) {
+			differ.discardRetained();
+		}
+	}
+
+	/**
+	 * Record every exchange as a client span and propagate its context to the server in a W3C {@code traceparent} header. If the request
+	 * already has the header, its trace is continued, otherwise a new trace is started per request. Each request is recorded as one span,
+	 * redirects followed by the HTTP client are a part of it. By default, spans are not recorded and the header is not added.
+	 *
+	 * @param recorder span recorder or {@code null} to stop recording
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setSpanRecorder(@Nullable SpanRecorder recorder) {
+		checkNotShared();
+		spanRecorder = recorder;
+		return this;
+	}
+
+	/**
+	 * @return current span recorder or {@code null} if spans are not recorded
+	 */
+	@Nullable
+	public SpanRecorder getSpanRecorder() {
+		return spanRecorder;
+	}
+
+	/**
+	 * Export all buffered spans on the calling thread. Should be called once at the end of the launch.
+	 */
+	public void flushSpans() {
+		SpanRecorder recorder = spanRecorder;
+		if (recorder != null) {
+			recorder.flush();
+		}
+	}
+
+	/**
+	 * Log redirects followed by the HTTP client as one entry between the request and the final response: status line and location of
+	 * every redirect response and the request it leads to, as deltas to the previous hop. The HTTP client of every logged request, created
+	 * by its {@link io.restassured.config.HttpClientConfig}, is given a response interceptor; clients which are not
+	 * {@link org.apache.http.impl.client.AbstractHttpClient} are not recorded. By default, only the final response is logged.
+	 *
+	 * @param enabled whether redirects should be logged
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setRedirectLogging(boolean enabled) {
+		checkNotShared();
+		redirectLogging = enabled;
+		return this;
+	}
+
+	/**
+	 * @return {@code true} if redirects followed by the HTTP client are logged
+	 */
+	public boolean isRedirectLogging() {
+		return redirectLogging;
+	}
+
+	/**
+	 * Detect GraphQL requests and log them by operation: the query document is logged in full only on the first call in a test item,
+	 * variables and response data and errors are logged compactly with size limits. The operation type and name are also used as the key
+	 * in statistics and spans. By default, GraphQL requests are logged as plain JSON.
+	 *
+	 * @param logging GraphQL logging settings or {@code null} to log GraphQL requests as plain JSON
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter setGraphQlLogging(@Nullable GraphQlLogging logging) {
+		checkNotShared();
+		graphQlLogging = logging;
+		return this;
+	}
+
+	/**
+	 * @return current GraphQL logging settings or {@code null} if GraphQL requests are logged as plain JSON
+	 */
+	@Nullable
+	public GraphQlLogging getGraphQlLogging() {
+		return graphQlLogging;
+	}
+
+	/**
+	 * Add a predicate to skip logging of GraphQL operations, E.G. by operation name. Applies only when GraphQL logging is set.
+	 *
+	 * @param operationFilter predicate which returns {@code true} for operations to skip
+	 * @return the filter instance
+	 */
+	@Nonnull
+	public ReportPortalRestAssuredLoggingFilter addGraphQlOperationFilter(@Nonnull Predicate<GraphQlOperation> operationFilter) {
+		checkNotShared();
+		graphQlOperationFilters.add(operationFilter);
+		return this;
+	}
 }
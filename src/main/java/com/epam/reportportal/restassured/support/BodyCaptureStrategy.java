@@ -0,0 +1,44 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+
+/**
+ * Defines how a request, response or multipart part body is obtained for logging. Built-in strategies:
+ * <ul>
+ *     <li>{@link FullBodyCapture} - the whole body, the default behavior</li>
+ *     <li>{@link HeadBodyCapture} - only the first bytes of the body</li>
+ *     <li>{@link HashBodyCapture} - body size and digest, no content</li>
+ *     <li>{@link SpoolBodyCapture} - the body is written to a temporary file, which is attached to the log and deleted once sent</li>
+ * </ul>
+ */
+@FunctionalInterface
+public interface BodyCaptureStrategy {
+
+	/**
+	 * Capture a body.
+	 *
+	 * @param body body source
+	 * @return captured body content or its summary
+	 * @throws IOException if the body can't be read
+	 */
+	@Nonnull
+	CapturedBody capture(@Nonnull BodySource body) throws IOException;
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Body of a request, a response or a multipart part, as it is passed to a {@link BodyCaptureStrategy}. Files are never read unless a
+ * strategy asks for the content.
+ */
+public class BodySource {
+
+	private final String text;
+	private final byte[] bytes;
+	private final File file;
+	// Texts are encoded once, the size and the content are usually both requested
+	private byte[] encoded;
+
+	private BodySource(@Nullable String text, @Nullable byte[] bytes, @Nullable File file) {
+		this.text = text;
+		this.bytes = bytes;
+		this.file = file;
+	}
+
+	/**
+	 * Wrap a body.
+	 *
+	 * @param body body as it was set in the request specification or multipart specification: {@link String}, {@code byte[]},
+	 *             {@link File} or any other object, which is used as text
+	 * @return body source or {@code null} if there is no body
+	 */
+	@Nullable
+	public static BodySource of(@Nullable Object body) {
+		if (body == null) {
+			return null;
+		}
+		if (body instanceof byte[]) {
+			return new BodySource(null, (byte[]) body, null);
+		}
+		if (body instanceof File) {
+			return new BodySource(null, null, (File) body);
+		}
+		return new BodySource(body.toString(), null, null);
+	}
+
+	/**
+	 * @return {@code true} if the body is already a text
+	 */
+	public boolean isText() {
+		return text != null;
+	}
+
+	/**
+	 * @return the body text if the body is a text, {@code null} otherwise
+	 */
+	@Nullable
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * @return the body file if the body is a file, {@code null} otherwise
+	 */
+	@Nullable
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * @return body size in bytes, for texts in UTF-8
+	 */
+	public long getSize() {
+		if (bytes != null) {
+			return bytes.length;
+		}
+		if (file != null) {
+			return file.length();
+		}
+		return encode().length;
+	}
+
+	@Nonnull
+	private byte[] encode() {
+		if (encoded == null) {
+			encoded = text.getBytes(StandardCharsets.UTF_8);
+		}
+		return encoded;
+	}
+
+	/**
+	 * Open the body for reading, texts are read in UTF-8.
+	 *
+	 * @return body stream
+	 * @throws IOException if the body file can't be opened
+	 */
+	@Nonnull
+	public InputStream openStream() throws IOException {
+		if (file != null) {
+			return Files.newInputStream(file.toPath());
+		}
+		return new ByteArrayInputStream(read());
+	}
+
+	/**
+	 * Read the whole body, texts are encoded in UTF-8.
+	 *
+	 * @return body bytes
+	 * @throws IOException if the body file can't be read
+	 */
+	@Nonnull
+	public byte[] read() throws IOException {
+		if (bytes != null) {
+			return bytes;
+		}
+		if (file != null) {
+			return Files.readAllBytes(file.toPath());
+		}
+		return encode();
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Result of a {@link BodyCaptureStrategy}: either the body content to log in the usual way, or a plain text summary which replaces the
+ * body, optionally with the body attached as a separate log entry.
+ */
+public class CapturedBody {
+
+	private final Object content;
+	private final String note;
+	private final String summary;
+	private final SpooledBody attachment;
+
+	private CapturedBody(@Nullable Object content, @Nullable String note, @Nullable String summary, @Nullable SpooledBody attachment) {
+		this.content = content;
+		this.note = note;
+		this.summary = summary;
+		this.attachment = attachment;
+	}
+
+	/**
+	 * @param content body content: {@link String} or {@code byte[]}
+	 * @return captured body which is logged the same way as the original one
+	 */
+	@Nonnull
+	public static CapturedBody content(@Nullable Object content) {
+		return new CapturedBody(content, null, null, null);
+	}
+
+	/**
+	 * @param content body content: {@link String} or {@code byte[]}
+	 * @param note    text which is appended to text bodies, E.G. a truncation note
+	 * @return captured body which is logged the same way as the original one
+	 */
+	@Nonnull
+	public static CapturedBody content(@Nullable Object content, @Nullable String note) {
+		return new CapturedBody(content, note, null, null);
+	}
+
+	/**
+	 * @param summary plain text which is logged instead of the body
+	 * @return captured body summary
+	 */
+	@Nonnull
+	public static CapturedBody summary(@Nonnull String summary) {
+		return new CapturedBody(null, null, summary, null);
+	}
+
+	/**
+	 * @param summary    plain text which is logged instead of the body
+	 * @param attachment spooled body, which is logged as a separate entry right after the summary
+	 * @return captured body summary with an attachment
+	 */
+	@Nonnull
+	public static CapturedBody attachment(@Nonnull String summary, @Nonnull SpooledBody attachment) {
+		return new CapturedBody(null, null, summary, attachment);
+	}
+
+	@Nullable
+	public Object getContent() {
+		return content;
+	}
+
+	@Nullable
+	public String getNote() {
+		return note;
+	}
+
+	@Nullable
+	public String getSummary() {
+		return summary;
+	}
+
+	@Nullable
+	public SpooledBody getAttachment() {
+		return attachment;
+	}
+
+	public boolean isSummary() {
+		return summary != null;
+	}
+}
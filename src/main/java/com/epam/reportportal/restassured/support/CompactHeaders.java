@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.BitSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static com.epam.reportportal.formatting.http.Constants.REMOVED_TAG;
+
+/**
+ * Immutable header store which doesn't copy headers: REST Assured {@link Headers} are immutable, so they are shared as is, and only
+ * positions of blacklisted headers are recorded at capture time. Values of blacklisted headers are replaced with
+ * {@link com.epam.reportportal.formatting.http.Constants#REMOVED_TAG} when headers are read.
+ */
+public class CompactHeaders {
+
+	public static final CompactHeaders EMPTY = new CompactHeaders(new Headers(), null);
+
+	private final Headers headers;
+	private final BitSet removed;
+
+	private CompactHeaders(@Nonnull Headers headers, @Nullable BitSet removed) {
+		this.headers = headers;
+		this.removed = removed;
+	}
+
+	/**
+	 * Capture REST Assured headers.
+	 *
+	 * @param headers            REST Assured headers
+	 * @param blacklistedHeaders names of headers which values should not be logged
+	 * @return header store which shares the given headers
+	 */
+	@Nonnull
+	public static CompactHeaders of(@Nullable Headers headers, @Nullable Set<String> blacklistedHeaders) {
+		if (headers == null || !headers.exist()) {
+			return EMPTY;
+		}
+		BitSet removed = null;
+		if (blacklistedHeaders != null && !blacklistedHeaders.isEmpty()) {
+			int i = 0;
+			for (Header header : headers) {
+				String name = header.getName();
+				if (name != null && blacklistedHeaders.contains(name)) {
+					if (removed == null) {
+						removed = new BitSet(headers.size());
+					}
+					removed.set(i);
+				}
+				i++;
+			}
+		}
+		return new CompactHeaders(headers, removed);
+	}
+
+	public int size() {
+		return headers.size();
+	}
+
+	public boolean isEmpty() {
+		return !headers.exist();
+	}
+
+	/**
+	 * Call the consumer for every header name and value in the order of capture.
+	 *
+	 * @param consumer header consumer
+	 */
+	public void forEach(@Nonnull BiConsumer<String, String> consumer) {
+		int i = 0;
+		for (Header header : headers) {
+			consumer.accept(header.getName(), removed != null && removed.get(i) ? REMOVED_TAG : header.getValue());
+			i++;
+		}
+	}
+
+	/**
+	 * Get the first value of the header with the given name, ignoring case.
+	 *
+	 * @param name header name
+	 * @return header value or {@code null} if there is no such header
+	 */
+	@Nullable
+	public String getFirst(@Nonnull String name) {
+		int i = 0;
+		for (Header header : headers) {
+			if (name.equalsIgnoreCase(header.getName())) {
+				return removed != null && removed.get(i) ? REMOVED_TAG : header.getValue();
+			}
+			i++;
+		}
+		return null;
+	}
+}
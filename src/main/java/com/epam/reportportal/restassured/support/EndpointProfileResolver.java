@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Rule table which maps HTTP method and URI to a {@link LoggingProfile}.
+ * <p>
+ * Rules are checked in order of addition, the first matching one wins. URI patterns are matched against the request URI without query
+ * string. Resolved profiles are cached by method and URI, so the same endpoint is matched with regular expressions only once.
+ */
+public class EndpointProfileResolver {
+
+	private static final int MAX_CACHE_SIZE = 4096;
+
+	private static class Rule {
+		private final String method;
+		private final Pattern uriPattern;
+		private final LoggingProfile profile;
+
+		private Rule(@Nullable String method, @Nonnull Pattern uriPattern, @Nonnull LoggingProfile profile) {
+			this.method = method;
+			this.uriPattern = uriPattern;
+			this.profile = profile;
+		}
+
+		private boolean matches(@Nullable String requestMethod, @Nonnull String uri) {
+			return (method == null || method.equalsIgnoreCase(requestMethod)) && uriPattern.matcher(uri).matches();
+		}
+	}
+
+	private final List<Rule> rules = new CopyOnWriteArrayList<>();
+	private final Map<String, LoggingProfile> cache = new ConcurrentHashMap<>();
+	private final LoggingProfile defaultProfile;
+
+	/**
+	 * @param defaultProfile profile for requests which don't match any rule
+	 */
+	public EndpointProfileResolver(@Nonnull LoggingProfile defaultProfile) {
+		this.defaultProfile = defaultProfile;
+	}
+
+	public EndpointProfileResolver() {
+		this(LoggingProfile.DEFAULT);
+	}
+
+	/**
+	 * Add a rule to the table.
+	 *
+	 * @param method     HTTP method or {@code null} to match any method
+	 * @param uriPattern regular expression to match request URI without query string
+	 * @param profile    profile for matching requests
+	 */
+	public void addRule(@Nullable String method, @Nonnull String uriPattern, @Nonnull LoggingProfile profile) {
+		rules.add(new Rule(method, Pattern.compile(uriPattern), profile));
+		cache.clear();
+	}
+
+	@Nonnull
+	private static String stripQuery(@Nonnull String uri) {
+		int index = uri.indexOf('?');
+		return index < 0 ? uri : uri.substring(0, index);
+	}
+
+	/**
+	 * Resolve a profile for the given request.
+	 *
+	 * @param method request HTTP method
+	 * @param uri    request URI
+	 * @return profile of the first matching rule or the default profile
+	 */
+	@Nonnull
+	public LoggingProfile resolve(@Nullable String method, @Nullable String uri) {
+		if (rules.isEmpty() || uri == null) {
+			return defaultProfile;
+		}
+		String path = stripQuery(uri);
+		String key = method + ' ' + path;
+		LoggingProfile profile = cache.get(key);
+		if (profile != null) {
+			return profile;
+		}
+		profile = rules.stream().filter(r -> r.matches(method, path)).findFirst().map(r -> r.profile).orElse(defaultProfile);
+		if (cache.size() >= MAX_CACHE_SIZE) {
+			cache.clear();
+		}
+		cache.put(key, profile);
+		return profile;
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import io.restassured.response.ResponseBody;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Collapses consecutive identical exchanges into one summary entry.
+ * <p>
+ * Exchanges are identical if they have the same method, URI, response status, request body and response body. The first exchange of a
+ * series is logged in full, the following identical ones within the time window are only counted. Series are tracked per thread, since
+ * polling loops run in the test thread, and per scope, usually the test item the exchange is logged to. Once the series is broken by a
+ * different exchange or by an exchange of another scope, its window expires or {@link #flush()} is called, a summary with the number of
+ * exchanges, the series duration and latency percentiles is passed to the consumer given with the first exchange of the series. Expired
+ * series with a scope are flushed by a background timer, so a series which is not followed by any exchange is not left pending, the
+ * consumer should log its summary through the scope then, not through the context of the calling thread. Series without a scope are
+ * flushed only by their own thread. Threads are held weakly, series of finished threads are dropped.
+ */
+public class ExchangeAggregator implements AutoCloseable {
+
+	private static final String SUMMARY = "**<<< REPEATED EXCHANGE**\n%s\nRepeated %d times over %d s, p50/p99 latency: %d/%d ms";
+	private static final int MAX_LATENCY_SAMPLES = 4096;
+	private static final long MIN_EXPIRY_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	private static final ScheduledExecutorService EXPIRY_TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "rp-exchange-aggregator");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private static class Series {
+		private final String signature;
+		private final Object scope;
+		private final String description;
+		private final Consumer<String> summaryConsumer;
+		private final long startTime;
+		private long lastTime;
+		private long[] latencies = new long[16];
+		private int count;
+		private boolean finished;
+
+		private Series(@Nonnull String signature, @Nullable Object scope, @Nonnull String description,
+				@Nonnull Consumer<String> summaryConsumer, long startTime) {
+			this.signature = signature;
+			this.scope = scope;
+			this.description = description;
+			this.summaryConsumer = summaryConsumer;
+			this.startTime = startTime;
+			this.lastTime = startTime;
+		}
+
+		private void add(long latencyNanos, long time) {
+			lastTime = time;
+			if (count < MAX_LATENCY_SAMPLES) {
+				if (count == latencies.length) {
+					latencies = Arrays.copyOf(latencies, latencies.length * 2);
+				}
+				latencies[count] = latencyNanos;
+			}
+			count++;
+		}
+
+		@Nonnull
+		private String summary() {
+			long[] sorted = Arrays.copyOf(latencies, Math.min(count, MAX_LATENCY_SAMPLES));
+			Arrays.sort(sorted);
+			return String.format(
+					SUMMARY,
+					description,
+					count,
+					TimeUnit.NANOSECONDS.toSeconds(lastTime - startTime),
+					TimeUnit.NANOSECONDS.toMillis(percentile(sorted, 0.5)),
+					TimeUnit.NANOSECONDS.toMillis(percentile(sorted, 0.99))
+			);
+		}
+
+		/**
+		 * Finish the series once, whichever of the owner thread and the expiry timer comes first.
+		 */
+		private synchronized void finish() {
+			if (finished) {
+				return;
+			}
+			finished = true;
+			if (count > 1) {
+				summaryConsumer.accept(summary());
+			}
+		}
+	}
+
+	private final long windowNanos;
+	private final Map<Thread, Series> currentSeries = Collections.synchronizedMap(new WeakHashMap<>());
+	private final ScheduledFuture<?> expiryCheck;
+
+	/**
+	 * @param window maximum duration of a series, identical exchanges after it start a new series
+	 */
+	public ExchangeAggregator(@Nonnull Duration window) {
+		this.windowNanos = window.toNanos();
+		long checkPeriod = Math.max(windowNanos, MIN_EXPIRY_CHECK_NANOS);
+		expiryCheck = EXPIRY_TIMER.scheduleWithFixedDelay(this::flushExpired, checkPeriod, checkPeriod, TimeUnit.NANOSECONDS);
+	}
+
+	static long percentile(@Nonnull long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.max(0, (int) Math.ceil(sorted.length * percentile) - 1)];
+	}
+
+	@Nonnull
+	private static String hash(@Nullable Object body) {
+		if (body == null) {
+			return "";
+		}
+		if (body instanceof byte[]) {
+			return DigestUtils.md5Hex((byte[]) body);
+		}
+		return DigestUtils.md5Hex(body.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Build a signature of an exchange, which is equal for identical exchanges.
+	 *
+	 * @param exchange captured exchange with response
+	 * @return exchange signature
+	 */
+	@Nonnull
+	public static String signature(@Nonnull ExchangeSnapshot exchange) {
+		return exchange.getMethod() + ' ' + exchange.getUri() + ' ' + exchange.getStatusCode() + ' ' + hash(exchange.getRequestBody())
+				+ ' ' + hash(ofNullable(exchange.getResponseBody()).map(ResponseBody::asByteArray).orElse(null));
+	}
+
+	/**
+	 * Record an exchange.
+	 *
+	 * @param exchange        captured exchange with response
+	 * @param uri             URI to show in the summary
+	 * @param latencyNanos    exchange latency in nanoseconds
+	 * @param scope           scope of the exchange, usually the test item it's logged to, series don't span different scopes
+	 * @param summaryConsumer receives the summary if the exchange starts a new series, it should log to the same scope with the same
+	 *                        level as the exchange itself, it's called by the expiry timer for series with a scope
+	 * @return {@code true} if the exchange starts a new series and should be logged in full
+	 */
+	public boolean record(@Nonnull ExchangeSnapshot exchange, @Nullable String uri, long latencyNanos, @Nullable Object scope,
+			@Nonnull Consumer<String> summaryConsumer) {
+		String signature = signature(exchange);
+		long now = System.nanoTime();
+		Thread thread = Thread.currentThread();
+		Series series = currentSeries.get(thread);
+		if (series != null && series.scope == scope && series.signature.equals(signature) && now - series.startTime <= windowNanos) {
+			synchronized (series) {
+				if (!series.finished) {
+					series.add(latencyNanos, now);
+					return false;
+				}
+			}
+		}
+		flush();
+		Series newSeries = new Series(signature, scope, exchange.getMethod() + " " + uri + " -> " + exchange.getStatusCode(),
+				summaryConsumer, now);
+		newSeries.add(latencyNanos, now);
+		currentSeries.put(thread, newSeries);
+		return true;
+	}
+
+	/**
+	 * Finish the current series of the calling thread and emit its summary if it has more than one exchange.
+	 */
+	public void flush() {
+		ofNullable(currentSeries.remove(Thread.currentThread())).ifPresent(Series::finish);
+	}
+
+	@Nonnull
+	private List<Series> removeSeries(boolean expiredOnly) {
+		long now = System.nanoTime();
+		List<Series> removed = new ArrayList<>();
+		synchronized (currentSeries) {
+			Iterator<Series> iterator = currentSeries.values().iterator();
+			while (iterator.hasNext()) {
+				Series series = iterator.next();
+				if (!expiredOnly || (series.scope != null && now - series.startTime > windowNanos)) {
+					iterator.remove();
+					removed.add(series);
+				}
+			}
+		}
+		return removed;
+	}
+
+	private void flushExpired() {
+		// Series without a scope can be logged only from their own thread, they are left for its next exchange or flush
+		removeSeries(true).forEach(Series::finish);
+	}
+
+	/**
+	 * Stop the expiry timer and finish series of all threads.
+	 */
+	@Override
+	public void close() {
+		expiryCheck.cancel(false);
+		removeSeries(false).forEach(Series::finish);
+	}
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import io.restassured.http.Cookies;
+import io.restassured.response.Response;
+import io.restassured.response.ResponseBody;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.MultiPartSpecification;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.File;
+import java.util.*;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Immutable snapshot of a request and its response, captured in one pass.
+ * <p>
+ * REST Assured request specification is mutable and can be changed by the following filters or by the test itself, so everything the
+ * logger needs is taken from it at the moment of capture, but only the parts the {@link LoggingProfile} logs: byte array bodies and
+ * form parameters are copied, form parameters are limited by the profile on the way. Immutable parts are shared instead of copying:
+ * REST Assured headers, wrapped into {@link CompactHeaders}, {@link Cookies} objects, body strings, files and multipart specifications.
+ * <p>
+ * Response data is captured the same way. The response body is kept as REST Assured {@link ResponseBody}, which content is read once and
+ * doesn't change after the response is received.
+ */
+public class ExchangeSnapshot {
+
+	private static final ExchangeSnapshot NO_REQUEST = new ExchangeSnapshot();
+
+	private final String method;
+	private final String uri;
+	private final String requestContentType;
+	private final CompactHeaders requestHeaders;
+	private final Cookies requestCookies;
+	private final Object requestBody;
+	private final long requestBodySize;
+	private final Map<String, String> formParams;
+	private final List<MultiPartSpecification> multiPartParams;
+	private final Set<String> blacklistedHeaders;
+	private final GraphQlOperation graphQlOperation;
+
+	private final boolean hasResponse;
+	private final Cookies responseCookies;
+	private final int statusCode;
+	private final String statusLine;
+	private final String responseContentType;
+	private final CompactHeaders responseHeaders;
+	private final ResponseBody<?> responseBody;
+	private final byte[] responseBytes;
+
+	private ExchangeSnapshot() {
+		method = null;
+		uri = null;
+		requestContentType = null;
+		requestHeaders = CompactHeaders.EMPTY;
+		requestCookies = null;
+		requestBody = null;
+		requestBodySize = 0;
+		formParams = null;
+		multiPartParams = null;
+		blacklistedHeaders = null;
+		graphQlOperation = null;
+		hasResponse = false;
+		responseCookies = null;
+		statusCode = 0;
+		statusLine = null;
+		responseContentType = null;
+		responseHeaders = CompactHeaders.EMPTY;
+		responseBody = null;
+		responseBytes = null;
+	}
+
+	private ExchangeSnapshot(@Nonnull ExchangeSnapshot exchange, @Nullable Object requestBody, @Nullable byte[] responseBytes,
+			@Nullable GraphQlOperation graphQlOperation) {
+		method = exchange.method;
+		uri = exchange.uri;
+		requestContentType = exchange.requestContentType;
+		requestHeaders = exchange.requestHeaders;
+		requestCookies = exchange.requestCookies;
+		this.requestBody = requestBody;
+		requestBodySize = exchange.requestBodySize;
+		formParams = exchange.formParams;
+		multiPartParams = exchange.multiPartParams;
+		blacklistedHeaders = exchange.blacklistedHeaders;
+		this.graphQlOperation = graphQlOperation;
+		hasResponse = exchange.hasResponse;
+		responseCookies = exchange.responseCookies;
+		statusCode = exchange.statusCode;
+		statusLine = exchange.statusLine;
+		responseContentType = exchange.responseContentType;
+		responseHeaders = exchange.responseHeaders;
+		responseBody = exchange.responseBody;
+		this.responseBytes = responseBytes;
+	}
+
+	private ExchangeSnapshot(@Nonnull ExchangeSnapshot request, @Nonnull Response response, @Nonnull LoggingProfile profile) {
+		method = request.method;
+		uri = request.uri;
+		requestContentType = request.requestContentType;
+		requestHeaders = request.requestHeaders;
+		requestCookies = request.requestCookies;
+		requestBody = request.requestBody;
+		requestBodySize = request.requestBodySize;
+		formParams = request.formParams;
+		multiPartParams = request.multiPartParams;
+		blacklistedHeaders = request.blacklistedHeaders;
+		graphQlOperation = request.graphQlOperation;
+		hasResponse = true;
+		// Cookies are parsed from the headers, so it's done only if they are logged
+		responseCookies = profile.isLogCookies() ? response.getDetailedCookies() : null;
+		statusCode = response.statusCode();
+		statusLine = response.getStatusLine();
+		responseContentType = response.getContentType();
+		responseHeaders = profile.isLogHeaders() ? CompactHeaders.of(response.getHeaders(), blacklistedHeaders) : CompactHeaders.EMPTY;
+		responseBody = response.getBody();
+		responseBytes = null;
+	}
+
+	private ExchangeSnapshot(@Nonnull FilterableRequestSpecification request, @Nullable Set<String> blacklistedHeaders,
+			@Nonnull LoggingProfile profile) {
+		method = request.getMethod();
+		uri = request.getURI();
+		requestContentType = request.getContentType();
+		requestHeaders = profile.isLogHeaders() ? CompactHeaders.of(request.getHeaders(), blacklistedHeaders) : CompactHeaders.EMPTY;
+		requestCookies = profile.isLogCookies() ? request.getCookies() : null;
+		Object body = request.getBody();
+		requestBodySize = sizeOf(body);
+		if (body instanceof byte[]) {
+			// The only mutable body type, the array may be changed or reused after the request is sent
+			requestBody = profile.isLogBody() ? ((byte[]) body).clone() : null;
+		} else {
+			requestBody = body;
+		}
+		if (profile.isLogBody()) {
+			formParams = ofNullable(request.getFormParams()).map(p -> {
+				if (p.isEmpty()) {
+					return Collections.<String, String>emptyMap();
+				}
+				// Limited parameters are already a copy, left out ones are neither copied nor walked later
+				Map<String, String> limited = ParamLimiter.limitParams(p, profile);
+				return Collections.unmodifiableMap(limited == p ? new LinkedHashMap<>(p) : limited);
+			}).orElse(null);
+			multiPartParams = ofNullable(request.getMultiPartParams()).filter(p -> !p.isEmpty())
+					.map(p -> Collections.unmodifiableList(new ArrayList<>(p)))
+					.orElse(null);
+		} else {
+			formParams = null;
+			multiPartParams = null;
+		}
+		this.blacklistedHeaders = blacklistedHeaders;
+		graphQlOperation = null;
+		hasResponse = false;
+		responseCookies = null;
+		statusCode = 0;
+		statusLine = null;
+		responseContentType = null;
+		responseHeaders = CompactHeaders.EMPTY;
+		responseBody = null;
+		responseBytes = null;
+	}
+
+	private static long sizeOf(@Nullable Object body) {
+		if (body instanceof byte[]) {
+			return ((byte[]) body).length;
+		}
+		if (body instanceof String) {
+			return TextDecoder.utf8Length((String) body);
+		}
+		if (body instanceof File) {
+			return ((File) body).length();
+		}
+		return 0;
+	}
+
+	/**
+	 * Capture a request, only the parts which are logged with the profile.
+	 *
+	 * @param request            REST Assured request specification
+	 * @param blacklistedHeaders names of request and response headers which values should not be logged
+	 * @param profile            logging profile of the request
+	 * @return snapshot of the request, without response
+	 */
+	@Nonnull
+	public static ExchangeSnapshot captureRequest(@Nonnull FilterableRequestSpecification request,
+			@Nullable Set<String> blacklistedHeaders, @Nonnull LoggingProfile profile) {
+		return new ExchangeSnapshot(request, blacklistedHeaders, profile);
+	}
+
+	/**
+	 * Capture a request.
+	 *
+	 * @param request            REST Assured request specification
+	 * @param blacklistedHeaders names of request and response headers which values should not be logged
+	 * @return snapshot of the request, without response
+	 */
+	@Nonnull
+	public static ExchangeSnapshot captureRequest(@Nonnull FilterableRequestSpecification request,
+			@Nullable Set<String> blacklistedHeaders) {
+		return captureRequest(request, blacklistedHeaders, LoggingProfile.DEFAULT);
+	}
+
+	/**
+	 * Capture a request.
+	 *
+	 * @param request REST Assured request specification
+	 * @return snapshot of the request, without response
+	 */
+	@Nonnull
+	public static ExchangeSnapshot captureRequest(@Nonnull FilterableRequestSpecification request) {
+		return captureRequest(request, null);
+	}
+
+	/**
+	 * Capture a response without request data.
+	 *
+	 * @param response REST Assured response
+	 * @return snapshot of the response
+	 */
+	@Nonnull
+	public static ExchangeSnapshot captureResponse(@Nonnull Response response) {
+		return NO_REQUEST.withResponse(response);
+	}
+
+	/**
+	 * Complete the exchange with a response, only the parts which are logged with the profile are captured.
+	 *
+	 * @param response REST Assured response
+	 * @param profile  logging profile of the exchange
+	 * @return new snapshot with the same request data and the response
+	 */
+	@Nonnull
+	public ExchangeSnapshot withResponse(@Nonnull Response response, @Nonnull LoggingProfile profile) {
+		return new ExchangeSnapshot(this, response, profile);
+	}
+
+	/**
+	 * Complete the exchange with a response.
+	 *
+	 * @param response REST Assured response
+	 * @return new snapshot with the same request data and the response
+	 */
+	@Nonnull
+	public ExchangeSnapshot withResponse(@Nonnull Response response) {
+		return withResponse(response, LoggingProfile.DEFAULT);
+	}
+
+	/**
+	 * Replace the request body to log, e.g. with a reduced copy.
+	 *
+	 * @param body new request body
+	 * @return new snapshot with the request body replaced
+	 */
+	@Nonnull
+	public ExchangeSnapshot withRequestBody(@Nullable Object body) {
+		return new ExchangeSnapshot(this, body, responseBytes, graphQlOperation);
+	}
+
+	/**
+	 * Replace the response body to log, e.g. with a reduced copy.
+	 *
+	 * @param body new response body
+	 * @return new snapshot with the response body replaced
+	 */
+	@Nonnull
+	public ExchangeSnapshot withResponseBody(@Nullable byte[] body) {
+		return new ExchangeSnapshot(this, requestBody, body, graphQlOperation);
+	}
+
+	/**
+	 * Attach a GraphQL operation detected in the request, see {@link HttpEntityFactory#detectGraphQlOperation(String, Object)}.
+	 *
+	 * @param operation GraphQL operation
+	 * @return new snapshot with the operation
+	 */
+	@Nonnull
+	public ExchangeSnapshot withGraphQlOperation(@Nullable GraphQlOperation operation) {
+		return new ExchangeSnapshot(this, requestBody, responseBytes, operation);
+	}
+
+	@Nullable
+	public String getMethod() {
+		return method;
+	}
+
+	@Nullable
+	public String getUri() {
+		return uri;
+	}
+
+	@Nullable
+	public String getRequestContentType() {
+		return requestContentType;
+	}
+
+	@Nonnull
+	public CompactHeaders getRequestHeaders() {
+		return requestHeaders;
+	}
+
+	@Nullable
+	public Cookies getRequestCookies() {
+		return requestCookies;
+	}
+
+	/**
+	 * @return request body as it was set in the specification: usually {@link String} or a copy of {@code byte[]}; {@code null} for a
+	 * {@code byte[]} body which is not logged
+	 */
+	@Nullable
+	public Object getRequestBody() {
+		return requestBody;
+	}
+
+	/**
+	 * @return size of the request body in bytes, as it was at the moment of capture, even if the body itself is not captured
+	 */
+	public long getRequestBodySize() {
+		return requestBodySize;
+	}
+
+	/**
+	 * @return form parameters, already limited by the capture profile, or {@code null} if the body is not logged
+	 */
+	@Nullable
+	public Map<String, String> getFormParams() {
+		return formParams;
+	}
+
+	@Nullable
+	public List<MultiPartSpecification> getMultiPartParams() {
+		return multiPartParams;
+	}
+
+	/**
+	 * @return GraphQL operation of the request or {@code null} if it's not a GraphQL request or detection is off
+	 */
+	@Nullable
+	public GraphQlOperation getGraphQlOperation() {
+		return graphQlOperation;
+	}
+
+	/**
+	 * @return {@code true} if the snapshot contains a response
+	 */
+	public boolean hasResponse() {
+		return hasResponse;
+	}
+
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	@Nullable
+	public String getStatusLine() {
+		return statusLine;
+	}
+
+	@Nullable
+	public String getResponseContentType() {
+		return responseContentType;
+	}
+
+	@Nonnull
+	public CompactHeaders getResponseHeaders() {
+		return responseHeaders;
+	}
+
+	/**
+	 * @return response cookies or {@code null} if they are not logged
+	 */
+	@Nullable
+	public Cookies getResponseCookies() {
+		return responseCookies;
+	}
+
+	@Nullable
+	public ResponseBody<?> getResponseBody() {
+		return responseBody;
+	}
+
+	/**
+	 * @return response body bytes, replaced ones if the body was replaced
+	 */
+	@Nullable
+	public byte[] getResponseBodyBytes() {
+		return responseBytes != null ? responseBytes : ofNullable(responseBody).map(ResponseBody::asByteArray).orElse(null);
+	}
+}
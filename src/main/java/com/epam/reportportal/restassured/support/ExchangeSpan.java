@@ -0,0 +1,209 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Client span of a single HTTP exchange.
+ */
+public class ExchangeSpan {
+
+	private final String traceId;
+	private final String spanId;
+	private final String parentSpanId;
+	private final String name;
+	private final String method;
+	private final String uri;
+	private final long startEpochNanos;
+	private final long endEpochNanos;
+	private final int statusCode;
+	private final long requestBytes;
+	private final long responseBytes;
+	private final String error;
+	private final GraphQlOperation graphQlOperation;
+
+	private ExchangeSpan(@Nonnull Builder builder) {
+		traceId = builder.traceId;
+		spanId = builder.spanId;
+		parentSpanId = builder.parentSpanId;
+		name = builder.name;
+		method = builder.method;
+		uri = builder.uri;
+		startEpochNanos = builder.startEpochNanos;
+		endEpochNanos = builder.endEpochNanos;
+		statusCode = builder.statusCode;
+		requestBytes = builder.requestBytes;
+		responseBytes = builder.responseBytes;
+		error = builder.error;
+		graphQlOperation = builder.graphQlOperation;
+	}
+
+	@Nonnull
+	public String getTraceId() {
+		return traceId;
+	}
+
+	@Nonnull
+	public String getSpanId() {
+		return spanId;
+	}
+
+	/**
+	 * @return ID of the span from an incoming {@code traceparent} header or {@code null} if the span is a trace root
+	 */
+	@Nullable
+	public String getParentSpanId() {
+		return parentSpanId;
+	}
+
+	/**
+	 * @return span name: method and URI template, or GraphQL operation key
+	 */
+	@Nonnull
+	public String getName() {
+		return name;
+	}
+
+	@Nullable
+	public String getMethod() {
+		return method;
+	}
+
+	@Nullable
+	public String getUri() {
+		return uri;
+	}
+
+	public long getStartEpochNanos() {
+		return startEpochNanos;
+	}
+
+	public long getEndEpochNanos() {
+		return endEpochNanos;
+	}
+
+	public long getDurationNanos() {
+		return endEpochNanos - startEpochNanos;
+	}
+
+	/**
+	 * @return response status code or {@code 0} if there is no response
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	public long getRequestBytes() {
+		return requestBytes;
+	}
+
+	public long getResponseBytes() {
+		return responseBytes;
+	}
+
+	/**
+	 * @return exception class name if the exchange failed without a response, otherwise {@code null}
+	 */
+	@Nullable
+	public String getError() {
+		return error;
+	}
+
+	/**
+	 * @return GraphQL operation of the exchange or {@code null} if it's not a GraphQL request
+	 */
+	@Nullable
+	public GraphQlOperation getGraphQlOperation() {
+		return graphQlOperation;
+	}
+
+	/**
+	 * @return {@code true} if the exchange failed or the server answered with a client or server error status
+	 */
+	public boolean isError() {
+		return statusCode == 0 || statusCode >= 400;
+	}
+
+	public static class Builder {
+		private final String traceId;
+		private final String spanId;
+		private final String name;
+		private String parentSpanId;
+		private String method;
+		private String uri;
+		private long startEpochNanos;
+		private long endEpochNanos;
+		private int statusCode;
+		private long requestBytes;
+		private long responseBytes;
+		private String error;
+		private GraphQlOperation graphQlOperation;
+
+		public Builder(@Nonnull String traceId, @Nonnull String spanId, @Nonnull String name) {
+			this.traceId = traceId;
+			this.spanId = spanId;
+			this.name = name;
+		}
+
+		@Nonnull
+		public Builder parentSpanId(@Nullable String parentSpanId) {
+			this.parentSpanId = parentSpanId;
+			return this;
+		}
+
+		@Nonnull
+		public Builder request(@Nullable String method, @Nullable String uri, long bytes) {
+			this.method = method;
+			this.uri = uri;
+			requestBytes = bytes;
+			return this;
+		}
+
+		@Nonnull
+		public Builder response(int statusCode, long bytes) {
+			this.statusCode = statusCode;
+			responseBytes = bytes;
+			return this;
+		}
+
+		@Nonnull
+		public Builder time(long startEpochNanos, long endEpochNanos) {
+			this.startEpochNanos = startEpochNanos;
+			this.endEpochNanos = endEpochNanos;
+			return this;
+		}
+
+		@Nonnull
+		public Builder error(@Nullable String error) {
+			this.error = error;
+			return this;
+		}
+
+		@Nonnull
+		public Builder graphQlOperation(@Nullable GraphQlOperation graphQlOperation) {
+			this.graphQlOperation = graphQlOperation;
+			return this;
+		}
+
+		@Nonnull
+		public ExchangeSpan build() {
+			return new ExchangeSpan(this);
+		}
+	}
+}
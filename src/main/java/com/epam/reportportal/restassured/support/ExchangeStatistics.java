@@ -0,0 +1,370 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Lock-free statistics of HTTP exchanges per method and URI template: call counts, status distribution, latency percentiles and
+ * transferred bytes. Counters are {@link LongAdder}s, so concurrent tests don't contend on them, and latencies are counted in a
+ * log-linear histogram with 12.5% precision, so recording doesn't allocate after the first exchange of an endpoint.
+ * <p>
+ * URIs are reduced to templates with {@link #normalizeUri(String)} by default: query and fragment are dropped and path segments which
+ * look like identifiers are replaced with {@link #ID_PLACEHOLDER}, E.G. {@code /users/42} becomes {@code /users/{id}}.
+ */
+public class ExchangeStatistics {
+
+	public static final String ID_PLACEHOLDER = "{id}";
+	public static final String OTHER_ENDPOINTS = "{other}";
+	public static final int DEFAULT_MAX_ENDPOINTS = 1000;
+
+	private static final String REPORT_TITLE = "**API traffic statistics**";
+	private static final String REPORT_HEADER = "| Endpoint | Calls | 1xx | 2xx | 3xx | 4xx | 5xx | Failed | p50, ms | p95, ms | p99, ms | Sent, bytes | Received, bytes |";
+	private static final String REPORT_SEPARATOR = "|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|";
+	private static final String REPORT_TOTAL = "Total: %d calls to %d endpoints";
+	private static final String NO_EXCHANGES = "No exchanges recorded";
+
+	// 8 sub-buckets per power of two, latencies are in microseconds, everything above 2^36 us (~19 hours) goes to the last bucket
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_EXPONENT = 36;
+	private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+	private static final int MIN_HEX_ID_LENGTH = 16;
+	private static final int MIN_TOKEN_ID_LENGTH = 20;
+
+	private static class Endpoint {
+		private final String method;
+		private final String template;
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder[] statuses = new LongAdder[6];
+		private final LongAdder bytesSent = new LongAdder();
+		private final LongAdder bytesReceived = new LongAdder();
+		private final AtomicReferenceArray<LongAdder> latencies = new AtomicReferenceArray<>(BUCKETS);
+
+		private Endpoint(@Nonnull String method, @Nonnull String template) {
+			this.method = method;
+			this.template = template;
+			for (int i = 0; i < statuses.length; i++) {
+				statuses[i] = new LongAdder();
+			}
+		}
+
+		private void record(int statusCode, long latencyMicros, long sent, long received) {
+			calls.increment();
+			int statusClass = statusCode / 100;
+			statuses[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].increment();
+			if (sent > 0) {
+				bytesSent.add(sent);
+			}
+			if (received > 0) {
+				bytesReceived.add(received);
+			}
+			int bucket = bucketIndex(latencyMicros);
+			LongAdder counter = latencies.get(bucket);
+			if (counter == null) {
+				latencies.compareAndSet(bucket, null, new LongAdder());
+				counter = latencies.get(bucket);
+			}
+			counter.increment();
+		}
+
+		private long[] latencyCounts() {
+			long[] counts = new long[BUCKETS];
+			for (int i = 0; i < BUCKETS; i++) {
+				LongAdder counter = latencies.get(i);
+				counts[i] = counter == null ? 0 : counter.sum();
+			}
+			return counts;
+		}
+	}
+
+	private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+	private final Function<String, String> uriNormalizer;
+	private final int maxEndpoints;
+
+	/**
+	 * @param uriNormalizer function which converts request URIs to templates
+	 * @param maxEndpoints  maximum number of tracked endpoints, exchanges with other endpoints are counted under
+	 *                      {@link #OTHER_ENDPOINTS} template
+	 */
+	public ExchangeStatistics(@Nonnull Function<String, String> uriNormalizer, int maxEndpoints) {
+		if (maxEndpoints <= 0) {
+			throw new IllegalArgumentException("Maximum number of endpoints should be positive");
+		}
+		this.uriNormalizer = uriNormalizer;
+		this.maxEndpoints = maxEndpoints;
+	}
+
+	public ExchangeStatistics() {
+		this(ExchangeStatistics::normalizeUri, DEFAULT_MAX_ENDPOINTS);
+	}
+
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) Math.max(0, value);
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		if (exponent > MAX_EXPONENT) {
+			return BUCKETS - 1;
+		}
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long bucketValue(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = index / SUB_BUCKETS - 1;
+		long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lower + ((1L << shift) >>> 1);
+	}
+
+	private static boolean isHex(@Nonnull String uri, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (Character.digit(uri.charAt(i), 16) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isUuid(@Nonnull String uri, int start, int end) {
+		if (end - start != 36) {
+			return false;
+		}
+		for (int i = start; i < end; i++) {
+			int position = i - start;
+			boolean dash = position == 8 || position == 13 || position == 18 || position == 23;
+			if (dash != (uri.charAt(i) == '-') || !dash && Character.digit(uri.charAt(i), 16) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isIdentifier(@Nonnull String uri, int start, int end) {
+		int length = end - start;
+		if (length <= 0) {
+			return false;
+		}
+		boolean digits = true;
+		boolean hasDigit = false;
+		boolean token = true;
+		for (int i = start; i < end; i++) {
+			char c = uri.charAt(i);
+			boolean digit = c >= '0' && c <= '9';
+			hasDigit |= digit;
+			digits &= digit;
+			token &= digit || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '-' || c == '_';
+		}
+		return digits || isUuid(uri, start, end) || length >= MIN_HEX_ID_LENGTH && isHex(uri, start, end)
+				|| length >= MIN_TOKEN_ID_LENGTH && token && hasDigit;
+	}
+
+	/**
+	 * Convert a request URI to its template: scheme, authority, query and fragment are dropped, path segments consisting of digits, UUIDs,
+	 * long hexadecimal strings and long tokens with digits are replaced with {@link #ID_PLACEHOLDER}.
+	 *
+	 * @param uri request URI
+	 * @return URI template
+	 */
+	@Nonnull
+	public static String normalizeUri(@Nullable String uri) {
+		if (uri == null || uri.isEmpty()) {
+			return "/";
+		}
+		int end = uri.length();
+		for (int i = 0; i < end; i++) {
+			char c = uri.charAt(i);
+			if (c == '?' || c == '#') {
+				end = i;
+				break;
+			}
+		}
+		int start = 0;
+		int schemeEnd = uri.indexOf("://");
+		if (schemeEnd >= 0 && schemeEnd < end) {
+			int pathStart = uri.indexOf('/', schemeEnd + 3);
+			start = pathStart < 0 || pathStart > end ? end : pathStart;
+		}
+		if (start >= end) {
+			return "/";
+		}
+		StringBuilder result = new StringBuilder(end - start);
+		int segmentStart = start;
+		while (segmentStart <= end) {
+			int segmentEnd = uri.indexOf('/', segmentStart);
+			if (segmentEnd < 0 || segmentEnd > end) {
+				segmentEnd = end;
+			}
+			if (segmentStart > start) {
+				result.append('/');
+			}
+			if (isIdentifier(uri, segmentStart, segmentEnd)) {
+				result.append(ID_PLACEHOLDER);
+			} else {
+				result.append(uri, segmentStart, segmentEnd);
+			}
+			segmentStart = segmentEnd + 1;
+		}
+		return result.length() == 0 ? "/" : result.toString();
+	}
+
+	@Nonnull
+	private Endpoint getEndpoint(@Nonnull String method, @Nonnull String template) {
+		String key = method + ' ' + template;
+		Endpoint endpoint = endpoints.get(key);
+		if (endpoint != null) {
+			return endpoint;
+		}
+		if (endpoints.size() >= maxEndpoints) {
+			return endpoints.computeIfAbsent(OTHER_ENDPOINTS, k -> new Endpoint("*", OTHER_ENDPOINTS));
+		}
+		return endpoints.computeIfAbsent(key, k -> new Endpoint(method, template));
+	}
+
+	/**
+	 * Count an exchange.
+	 *
+	 * @param method        request method
+	 * @param uri           request URI
+	 * @param operation     operation key within the endpoint, E.G. {@link GraphQlOperation#getKey()}, or {@code null}
+	 * @param statusCode    response status code, or {@code 0} if the exchange failed without a response
+	 * @param latencyNanos  exchange duration in nanoseconds
+	 * @param bytesSent     request body size
+	 * @param bytesReceived response body size
+	 */
+	public void record(@Nullable String method, @Nullable String uri, @Nullable String operation, int statusCode, long latencyNanos,
+			long bytesSent, long bytesReceived) {
+		String template = uriNormalizer.apply(uri);
+		if (template == null) {
+			template = "/";
+		}
+		if (operation != null) {
+			template = template + " " + operation;
+		}
+		getEndpoint(method == null ? "*" : method, template).record(
+				statusCode,
+				TimeUnit.NANOSECONDS.toMicros(latencyNanos),
+				bytesSent,
+				bytesReceived
+		);
+	}
+
+	/**
+	 * Count an exchange.
+	 *
+	 * @param method        request method
+	 * @param uri           request URI
+	 * @param statusCode    response status code, or {@code 0} if the exchange failed without a response
+	 * @param latencyNanos  exchange duration in nanoseconds
+	 * @param bytesSent     request body size
+	 * @param bytesReceived response body size
+	 */
+	public void record(@Nullable String method, @Nullable String uri, int statusCode, long latencyNanos, long bytesSent,
+			long bytesReceived) {
+		record(method, uri, null, statusCode, latencyNanos, bytesSent, bytesReceived);
+	}
+
+	private static long percentile(@Nonnull long[] counts, long total, double percentile) {
+		long rank = Math.max(1, (long) Math.ceil(total * percentile));
+		long cumulative = 0;
+		for (int i = 0; i < counts.length; i++) {
+			cumulative += counts[i];
+			if (cumulative >= rank) {
+				return bucketValue(i);
+			}
+		}
+		return bucketValue(counts.length - 1);
+	}
+
+	private static String millis(long micros) {
+		return String.format(Locale.ROOT, "%.1f", micros / 1000.0);
+	}
+
+	/**
+	 * @return number of counted exchanges
+	 */
+	public long getCalls() {
+		long calls = 0;
+		for (Endpoint endpoint : endpoints.values()) {
+			calls += endpoint.calls.sum();
+		}
+		return calls;
+	}
+
+	/**
+	 * Build a Markdown report with a table row per endpoint, the most called endpoints first. Counters are not frozen while the report
+	 * is built, so exchanges which are counted concurrently may be partially included.
+	 *
+	 * @return Markdown report
+	 */
+	@Nonnull
+	public String report() {
+		List<Endpoint> sorted = new ArrayList<>(endpoints.values());
+		if (sorted.isEmpty()) {
+			return REPORT_TITLE + "\n\n" + NO_EXCHANGES;
+		}
+		sorted.sort((a, b) -> Long.compare(b.calls.sum(), a.calls.sum()));
+		StringBuilder report = new StringBuilder(REPORT_TITLE).append("\n\n").append(REPORT_HEADER).append('\n').append(REPORT_SEPARATOR);
+		long totalCalls = 0;
+		for (Endpoint endpoint : sorted) {
+			long[] counts = endpoint.latencyCounts();
+			long total = 0;
+			for (long count : counts) {
+				total += count;
+			}
+			long calls = endpoint.calls.sum();
+			totalCalls += calls;
+			report.append("\n| ").append(endpoint.method).append(' ').append(endpoint.template).append(" | ").append(calls);
+			for (int status = 1; status <= 5; status++) {
+				report.append(" | ").append(endpoint.statuses[status].sum());
+			}
+			report.append(" | ").append(endpoint.statuses[0].sum());
+			if (total > 0) {
+				report.append(" | ").append(millis(percentile(counts, total, 0.5)));
+				report.append(" | ").append(millis(percentile(counts, total, 0.95)));
+				report.append(" | ").append(millis(percentile(counts, total, 0.99)));
+			} else {
+				report.append(" | - | - | -");
+			}
+			report.append(" | ").append(endpoint.bytesSent.sum()).append(" | ").append(endpoint.bytesReceived.sum()).append(" |");
+		}
+		report.append("\n\n").append(String.format(REPORT_TOTAL, totalCalls, sorted.size()));
+		return report.toString();
+	}
+
+	/**
+	 * Drop all counted exchanges.
+	 */
+	public void reset() {
+		endpoints.clear();
+	}
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+
+/**
+ * Captures the whole body.
+ */
+public class FullBodyCapture implements BodyCaptureStrategy {
+
+	public static final FullBodyCapture INSTANCE = new FullBodyCapture();
+
+	@Override
+	@Nonnull
+	public CapturedBody capture(@Nonnull BodySource body) throws IOException {
+		return CapturedBody.content(body.isText() ? body.getText() : body.read());
+	}
+}
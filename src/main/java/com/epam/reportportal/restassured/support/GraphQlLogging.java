@@ -0,0 +1,230 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Formats GraphQL request and response bodies instead of logging them as plain JSON.
+ * <p>
+ * A request is logged as its operation type and name, the query document and the variables. Query documents are usually large and
+ * the same for every call of an operation, so each document is logged in full only the first time in a scope, usually a test item, later
+ * calls in the scope refer to it by hash. So every test item has the documents of its requests.
+ * Response {@code data} and {@code errors} are logged separately, both are logged compactly with size limits.
+ */
+public class GraphQlLogging {
+
+	public static final int DEFAULT_MAX_QUERIES = 1024;
+	public static final int DEFAULT_MAX_VARIABLES_SIZE = 2048;
+	public static final int DEFAULT_MAX_DATA_SIZE = 4096;
+	public static final int DEFAULT_MAX_ERRORS_SIZE = 4096;
+
+	private static final String OPERATION = "%s, document sha256: %s";
+	private static final String LOGGED_BEFORE = ", logged before";
+	private static final String VARIABLES = "\n\nVariables: ";
+	private static final String DATA_FIELD = "data";
+	private static final String ERRORS_FIELD = "errors";
+	private static final String DATA = "Data: ";
+	private static final String ERRORS = "Errors: ";
+	private static final Object NO_SCOPE = new Object();
+
+	// Scopes are weak keys, so hashes of finished test items are dropped along with the items
+	private final Map<Object, Map<String, Boolean>> loggedQueries = Collections.synchronizedMap(new WeakHashMap<>());
+	private final int maxQueries;
+	private final int maxVariablesSize;
+	private final int maxDataSize;
+	private final int maxErrorsSize;
+
+	private GraphQlLogging(@Nonnull Builder builder) {
+		maxQueries = builder.maxQueries;
+		maxVariablesSize = builder.maxVariablesSize;
+		maxDataSize = builder.maxDataSize;
+		maxErrorsSize = builder.maxErrorsSize;
+	}
+
+	@Nonnull
+	private Map<String, Boolean> getLoggedQueries(@Nullable Object scope) {
+		return loggedQueries.computeIfAbsent(scope == null ? NO_SCOPE : scope,
+				k -> Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+						return size() > maxQueries;
+					}
+				})
+		);
+	}
+
+	/**
+	 * Format a request body. Query documents are remembered as logged for all requests which are formatted without a scope.
+	 *
+	 * @param operation request operation
+	 * @return request body text
+	 */
+	@Nonnull
+	public String formatRequest(@Nonnull GraphQlOperation operation) {
+		return formatRequest(operation, null);
+	}
+
+	/**
+	 * Format a request body, the query document is logged in full if it wasn't logged in the scope yet.
+	 *
+	 * @param operation request operation
+	 * @param scope     scope of logged documents, compared by identity, usually the current test item; {@code null} for no scope
+	 * @return request body text
+	 */
+	@Nonnull
+	public String formatRequest(@Nonnull GraphQlOperation operation, @Nullable Object scope) {
+		StringBuilder result = new StringBuilder(String.format(OPERATION, operation.getKey(), operation.getQueryHash()));
+		if (getLoggedQueries(scope).put(operation.getQueryHash(), Boolean.TRUE) == null) {
+			result.append("\n\n").append(operation.getQuery().trim());
+		} else {
+			result.append(LOGGED_BEFORE);
+		}
+		if (operation.getVariables() != null) {
+			result.append(VARIABLES).append(JsonParser.write(operation.getVariables(), maxVariablesSize));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Format a response body.
+	 *
+	 * @param body response body text
+	 * @return response body text or {@code null} if the body is not a GraphQL result
+	 */
+	@Nullable
+	public String formatResponse(@Nullable String body) {
+		Object parsed = JsonParser.parseOrNull(body);
+		if (!(parsed instanceof Map)) {
+			return null;
+		}
+		Map<?, ?> result = (Map<?, ?>) parsed;
+		if (!result.containsKey(DATA_FIELD) && !result.containsKey(ERRORS_FIELD)) {
+			return null;
+		}
+		StringBuilder text = new StringBuilder();
+		if (result.containsKey(DATA_FIELD)) {
+			text.append(DATA).append(JsonParser.write(result.get(DATA_FIELD), maxDataSize));
+		}
+		if (result.get(ERRORS_FIELD) != null) {
+			if (text.length() > 0) {
+				text.append("\n\n");
+			}
+			text.append(ERRORS).append(JsonParser.write(result.get(ERRORS_FIELD), maxErrorsSize));
+		}
+		return text.toString();
+	}
+
+	/**
+	 * @param operation request operation
+	 * @return capture strategy which logs the request body formatted
+	 */
+	@Nonnull
+	public BodyCaptureStrategy requestCapture(@Nonnull GraphQlOperation operation) {
+		return requestCapture(operation, null);
+	}
+
+	/**
+	 * @param operation request operation
+	 * @param scope     scope of logged documents, see {@link #formatRequest(GraphQlOperation, Object)}
+	 * @return capture strategy which logs the request body formatted
+	 */
+	@Nonnull
+	public BodyCaptureStrategy requestCapture(@Nonnull GraphQlOperation operation, @Nullable Object scope) {
+		return body -> CapturedBody.summary(formatRequest(operation, scope));
+	}
+
+	/**
+	 * @param contentType response Content-Type header value, binary bodies are decoded with its charset
+	 * @param fallback    capture strategy for bodies which are not GraphQL results or {@code null} to capture them whole
+	 * @return capture strategy which logs the response body formatted
+	 */
+	@Nonnull
+	public BodyCaptureStrategy responseCapture(@Nullable String contentType, @Nullable BodyCaptureStrategy fallback) {
+		Charset charset = TextDecoder.getContentTypeCharset(contentType);
+		return body -> {
+			String text = body.isText() ? body.getText() : new String(body.read(), charset);
+			String formatted = formatResponse(text);
+			if (formatted != null) {
+				return CapturedBody.summary(formatted);
+			}
+			return (fallback == null ? FullBodyCapture.INSTANCE : fallback).capture(body);
+		};
+	}
+
+	public static class Builder {
+		private int maxQueries = DEFAULT_MAX_QUERIES;
+		private int maxVariablesSize = DEFAULT_MAX_VARIABLES_SIZE;
+		private int maxDataSize = DEFAULT_MAX_DATA_SIZE;
+		private int maxErrorsSize = DEFAULT_MAX_ERRORS_SIZE;
+
+		/**
+		 * @param maxQueries number of query document hashes to remember as logged in a scope
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder maxQueries(int maxQueries) {
+			if (maxQueries <= 0) {
+				throw new IllegalArgumentException("Maximum number of queries should be positive");
+			}
+			this.maxQueries = maxQueries;
+			return this;
+		}
+
+		/**
+		 * @param maxVariablesSize maximum number of characters of logged variables, zero or negative value means no limit
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder maxVariablesSize(int maxVariablesSize) {
+			this.maxVariablesSize = maxVariablesSize;
+			return this;
+		}
+
+		/**
+		 * @param maxDataSize maximum number of characters of logged response data, zero or negative value means no limit
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder maxDataSize(int maxDataSize) {
+			this.maxDataSize = maxDataSize;
+			return this;
+		}
+
+		/**
+		 * @param maxErrorsSize maximum number of characters of logged response errors, zero or negative value means no limit
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder maxErrorsSize(int maxErrorsSize) {
+			this.maxErrorsSize = maxErrorsSize;
+			return this;
+		}
+
+		@Nonnull
+		public GraphQlLogging build() {
+			return new GraphQlLogging(this);
+		}
+	}
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * GraphQL operation of a request: type and name, extracted from the query document once, the document itself with its hash, and
+ * variables.
+ */
+public class GraphQlOperation {
+
+	public static final String GRAPHQL_MIME_TYPE = "application/graphql";
+	public static final String QUERY = "query";
+	public static final String MUTATION = "mutation";
+	public static final String SUBSCRIPTION = "subscription";
+
+	private static final String QUERY_FIELD = "query";
+	private static final byte[] QUERY_TOKEN = ("\"" + QUERY_FIELD + "\"").getBytes(StandardCharsets.US_ASCII);
+	private static final String OPERATION_NAME_FIELD = "operationName";
+	private static final String VARIABLES_FIELD = "variables";
+	private static final int HASH_LENGTH = 16;
+
+	private final String type;
+	private final String name;
+	private final String query;
+	private final String queryHash;
+	private final Object variables;
+
+	private GraphQlOperation(@Nonnull String type, @Nullable String name, @Nonnull String query, @Nullable Object variables) {
+		this.type = type;
+		this.name = name;
+		this.query = query;
+		this.variables = variables;
+		queryHash = DigestUtils.sha256Hex(query).substring(0, HASH_LENGTH);
+	}
+
+	private static boolean isNameStart(char c) {
+		return c == '_' || c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z';
+	}
+
+	private static boolean isNamePart(char c) {
+		return isNameStart(c) || c >= '0' && c <= '9';
+	}
+
+	private static int skipIgnored(@Nonnull String document, int position) {
+		int i = position;
+		while (i < document.length()) {
+			char c = document.charAt(i);
+			if (c == '#') {
+				while (i < document.length() && document.charAt(i) != '\n' && document.charAt(i) != '\r') {
+					i++;
+				}
+			} else if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == ',' || c == '\uFEFF') {
+				i++;
+			} else {
+				return i;
+			}
+		}
+		return i;
+	}
+
+	private static int skipString(@Nonnull String document, int position) {
+		if (document.startsWith("\"\"\"", position)) {
+			int end = document.indexOf("\"\"\"", position + 3);
+			while (end > 0 && document.charAt(end - 1) == '\\') {
+				end = document.indexOf("\"\"\"", end + 3);
+			}
+			return end < 0 ? document.length() : end + 3;
+		}
+		int i = position + 1;
+		while (i < document.length()) {
+			char c = document.charAt(i);
+			if (c == '\\') {
+				i += 2;
+			} else if (c == '"' || c == '\n') {
+				return i + 1;
+			} else {
+				i++;
+			}
+		}
+		return i;
+	}
+
+	private static int nameEnd(@Nonnull String document, int position) {
+		int i = position;
+		while (i < document.length() && isNamePart(document.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Find the type and the name of an operation in a query document, without full parsing: only top-level definitions are scanned.
+	 *
+	 * @param document      query document
+	 * @param operationName name of the operation to find or {@code null} to take the first one
+	 * @return operation type and name, the name is {@code null} for anonymous operations; or {@code null} if there is no such
+	 * operation
+	 */
+	@Nullable
+	static String[] findOperation(@Nonnull String document, @Nullable String operationName) {
+		int depth = 0;
+		boolean definitionStart = true;
+		String[] first = null;
+		int i = skipIgnored(document, 0);
+		while (i < document.length()) {
+			char c = document.charAt(i);
+			String[] operation = null;
+			if (c == '"') {
+				i = skipString(document, i);
+			} else if (c == '{') {
+				if (depth == 0 && definitionStart) {
+					operation = new String[] { QUERY, null };
+				}
+				definitionStart = false;
+				depth++;
+				i++;
+			} else if (c == '}') {
+				depth = Math.max(0, depth - 1);
+				definitionStart = depth == 0;
+				i++;
+			} else if (isNameStart(c)) {
+				int end = nameEnd(document, i);
+				if (depth == 0 && definitionStart) {
+					String keyword = document.substring(i, end);
+					if (QUERY.equals(keyword) || MUTATION.equals(keyword) || SUBSCRIPTION.equals(keyword)) {
+						int nameStart = skipIgnored(document, end);
+						if (nameStart < document.length() && isNameStart(document.charAt(nameStart))) {
+							end = nameEnd(document, nameStart);
+							operation = new String[] { keyword, document.substring(nameStart, end) };
+						} else {
+							operation = new String[] { keyword, null };
+						}
+					}
+					definitionStart = false;
+				}
+				i = end;
+			} else {
+				i++;
+			}
+			if (operation != null) {
+				if (operationName == null || operationName.equals(operation[1])) {
+					return operation;
+				}
+				if (first == null) {
+					first = operation;
+				}
+			}
+			i = skipIgnored(document, i);
+		}
+		return operationName == null ? first : null;
+	}
+
+	@Nullable
+	private static GraphQlOperation create(@Nullable String query, @Nullable String operationName, @Nullable Object variables) {
+		if (query == null || query.trim().isEmpty()) {
+			return null;
+		}
+		String[] operation = findOperation(query, operationName);
+		if (operation == null) {
+			// A document with fragments only or an unknown operation name, the server will reject it
+			return new GraphQlOperation(QUERY, operationName, query, variables);
+		}
+		return new GraphQlOperation(operation[0], operationName == null ? operation[1] : operationName, query, variables);
+	}
+
+	@Nonnull
+	private static String getMimeType(@Nonnull String contentType) {
+		int end = contentType.indexOf(';');
+		return (end < 0 ? contentType : contentType.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * @param contentType request Content-Type header value
+	 * @return {@code true} if a request of the content type can be a GraphQL request: JSON or {@value #GRAPHQL_MIME_TYPE}
+	 */
+	public static boolean isGraphQlContentType(@Nullable String contentType) {
+		return contentType != null && (GRAPHQL_MIME_TYPE.equals(getMimeType(contentType)) || TextDecoder.isJson(contentType));
+	}
+
+	/**
+	 * Cheap check of a JSON request body before it's decoded and parsed.
+	 *
+	 * @param body request body in an ASCII compatible encoding
+	 * @return {@code false} if the body has no {@code "query"} field name, so it's not a GraphQL request
+	 */
+	public static boolean mayHaveQuery(@Nonnull byte[] body) {
+		for (int i = 0; i <= body.length - QUERY_TOKEN.length; i++) {
+			int j = 0;
+			while (j < QUERY_TOKEN.length && body[i + j] == QUERY_TOKEN[j]) {
+				j++;
+			}
+			if (j == QUERY_TOKEN.length) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Detect a GraphQL operation in a request body: a JSON object with a {@code query} string field, or an
+	 * {@value #GRAPHQL_MIME_TYPE} document.
+	 *
+	 * @param contentType request Content-Type header value
+	 * @param body        request body text
+	 * @return the operation or {@code null} if the request is not a GraphQL request
+	 */
+	@Nullable
+	public static GraphQlOperation detect(@Nullable String contentType, @Nullable String body) {
+		if (contentType == null || body == null) {
+			return null;
+		}
+		if (GRAPHQL_MIME_TYPE.equals(getMimeType(contentType))) {
+			return create(body, null, null);
+		}
+		if (!TextDecoder.isJson(contentType)) {
+			return null;
+		}
+		int start = skipIgnored(body, 0);
+		// Cheap check before parsing, so non-GraphQL JSON requests cost almost nothing
+		if (start >= body.length() || body.charAt(start) != '{' || !body.contains("\"" + QUERY_FIELD + "\"")) {
+			return null;
+		}
+		Object parsed = JsonParser.parseOrNull(body);
+		if (!(parsed instanceof Map)) {
+			return null;
+		}
+		Map<?, ?> request = (Map<?, ?>) parsed;
+		Object query = request.get(QUERY_FIELD);
+		Object operationName = request.get(OPERATION_NAME_FIELD);
+		if (!(query instanceof String)) {
+			return null;
+		}
+		return create((String) query, operationName instanceof String ? (String) operationName : null, request.get(VARIABLES_FIELD));
+	}
+
+	/**
+	 * @return operation type: {@value #QUERY}, {@value #MUTATION} or {@value #SUBSCRIPTION}
+	 */
+	@Nonnull
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * @return operation name or {@code null} for an anonymous operation
+	 */
+	@Nullable
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return operation type and name, E.G. {@code query GetUser}, used as the operation key in statistics and spans
+	 */
+	@Nonnull
+	public String getKey() {
+		return name == null ? type : type + " " + name;
+	}
+
+	@Nonnull
+	public String getQuery() {
+		return query;
+	}
+
+	/**
+	 * @return beginning of the query document SHA-256 hash in hex
+	 */
+	@Nonnull
+	public String getQueryHash() {
+		return queryHash;
+	}
+
+	/**
+	 * @return parsed variables or {@code null} if there are none
+	 */
+	@Nullable
+	public Object getVariables() {
+		return variables;
+	}
+}
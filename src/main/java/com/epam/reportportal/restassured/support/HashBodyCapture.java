@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+
+/**
+ * Captures only body size and digest, the content is not logged. The body is read once, as a stream, and its size is counted while it's
+ * digested.
+ */
+public class HashBodyCapture implements BodyCaptureStrategy {
+
+	public static final HashBodyCapture INSTANCE = new HashBodyCapture(MessageDigestAlgorithms.SHA_256);
+
+	private static final String SUMMARY = "%d bytes, %s: %s";
+	private static final int BUFFER_SIZE = 8192;
+
+	private final String algorithm;
+
+	/**
+	 * @param algorithm digest algorithm name, E.G. {@code SHA-256}
+	 */
+	public HashBodyCapture(@Nonnull String algorithm) {
+		// Fail fast on unknown algorithms
+		DigestUtils.getDigest(algorithm);
+		this.algorithm = algorithm;
+	}
+
+	@Override
+	@Nonnull
+	public CapturedBody capture(@Nonnull BodySource body) throws IOException {
+		MessageDigest digest = DigestUtils.getDigest(algorithm);
+		long size = 0;
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream stream = body.openStream()) {
+			int read;
+			while ((read = stream.read(buffer)) >= 0) {
+				digest.update(buffer, 0, read);
+				size += read;
+			}
+		}
+		return CapturedBody.summary(String.format(SUMMARY, size, algorithm, Hex.encodeHexString(digest.digest())));
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Captures only the first bytes of a body, files are read only up to the limit. Bodies which are already texts are cut by their UTF-8
+ * encoded length, without splitting a character. Text bodies get a truncation note.
+ */
+public class HeadBodyCapture implements BodyCaptureStrategy {
+
+	private final int maxBytes;
+
+	/**
+	 * @param maxBytes number of bytes to capture
+	 */
+	public HeadBodyCapture(int maxBytes) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("Number of bytes to capture should be positive");
+		}
+		this.maxBytes = maxBytes;
+	}
+
+	@Override
+	@Nonnull
+	public CapturedBody capture(@Nonnull BodySource body) throws IOException {
+		if (body.isText()) {
+			String text = body.getText();
+			int length = TextDecoder.utf8Prefix(text, maxBytes);
+			if (length >= text.length()) {
+				return CapturedBody.content(text);
+			}
+			return CapturedBody.content(text.substring(0, length), TextDecoder.truncatedTail(TextDecoder.utf8Length(text)));
+		}
+		long size = body.getSize();
+		if (size <= maxBytes) {
+			return CapturedBody.content(body.read());
+		}
+		byte[] head = new byte[maxBytes];
+		int read = 0;
+		try (InputStream stream = body.openStream()) {
+			int count;
+			while (read < maxBytes && (count = stream.read(head, read, maxBytes - read)) >= 0) {
+				read += count;
+			}
+		}
+		return CapturedBody.content(read == maxBytes ? head : Arrays.copyOf(head, read), TextDecoder.truncatedTail(size));
+	}
+}
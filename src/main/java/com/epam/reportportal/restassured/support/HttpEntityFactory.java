@@ -27,7 +27,8 @@ import com.epam.reportportal.message.TypeAwareByteSource;
 import com.epam.reportportal.service.ReportPortal;
 import com.epam.reportportal.utils.files.Utils;
 import io.restassured.response.Response;
-import io.restassured.response.ResponseBodyData;
+import io.restassured.response.ResponseBody;
+import io.restassured.http.Cookies;
 import io.restassured.specification.FilterableRequestSpecification;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
@@ -35,10 +36,11 @@ import org.apache.http.entity.ContentType;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -51,10 +53,13 @@ import static java.util.Optional.ofNullable;
  */
 public class HttpEntityFactory {
 
+	private static final String PLAIN_TEXT_TYPE = ContentType.TEXT_PLAIN.getMimeType();
+
 	@Nonnull
-	private static List<HttpPartFormatter> toParts(@Nonnull FilterableRequestSpecification request,
-			@Nonnull Map<String, BodyType> bodyTypeMap, @Nullable Function<Header, String> partHeaderConverter) {
-		return ofNullable(request.getMultiPartParams()).map(params -> params.stream().map(it -> {
+	private static List<HttpPartFormatter> toParts(@Nonnull ExchangeSnapshot exchange, @Nonnull Map<String, BodyType> bodyTypeMap,
+			@Nullable Function<Header, String> partHeaderConverter, @Nonnull LoggingProfile profile,
+			@Nullable Function<String, BodyCaptureStrategy> bodyCapture) {
+		return ofNullable(exchange.getMultiPartParams()).map(params -> params.stream().map(it -> {
 			String partMimeType = ofNullable(it.getMimeType()).orElse(ContentType.APPLICATION_OCTET_STREAM.getMimeType());
 			try {
 				Object body = it.getContent();
@@ -66,18 +71,30 @@ public class HttpEntityFactory {
 				}
 
 				Object content;
-				if (body instanceof File) {
+				BodyCaptureStrategy strategy = resolve(bodyCapture, partMimeType);
+				CapturedBody captured = strategy == null ? null : capture(strategy, body);
+				if (captured != null && captured.isSummary()) {
+					partType = HttpPartFormatter.PartType.TEXT;
+					partMimeType = PLAIN_TEXT_TYPE;
+					content = captured.getSummary();
+				} else if (captured != null) {
+					if (partType == HttpPartFormatter.PartType.TEXT) {
+						content = withNote(toText(captured.getContent(), TextDecoder.getCharset(it.getCharset()), profile), captured);
+					} else {
+						content = toBytes(captured.getContent());
+					}
+				} else if (body instanceof File) {
 					TypeAwareByteSource file = Utils.getFile((File) body);
 					byte[] data = file.read();
 					if (partType == HttpPartFormatter.PartType.TEXT) {
-						try {
-							content = new String(data, ofNullable(it.getCharset()).orElse(StandardCharsets.UTF_8.name()));
-						} catch (UnsupportedEncodingException e) {
-							throw new IllegalStateException(e);
-						}
+						content = TextDecoder.decode(data, TextDecoder.getCharset(it.getCharset()), profile.getMaxBodySize());
 					} else {
 						content = data;
 					}
+				} else if (body instanceof byte[] && partType == HttpPartFormatter.PartType.TEXT) {
+					content = TextDecoder.decode((byte[]) body, TextDecoder.getCharset(it.getCharset()), profile.getMaxBodySize());
+				} else if (body instanceof String) {
+					content = truncate((String) body, profile.getMaxBodySize());
 				} else {
 					content = body;
 				}
@@ -98,52 +115,225 @@ public class HttpEntityFactory {
 		}).filter(Objects::nonNull).collect(Collectors.toList())).orElse(Collections.emptyList());
 	}
 
+	/**
+	 * Cut a text body to the given size.
+	 *
+	 * @param text    body text
+	 * @param maxSize maximum number of characters, zero or negative value means no limit
+	 * @return the text itself or its beginning with a truncation note
+	 */
+	@Nullable
+	static String truncate(@Nullable String text, int maxSize) {
+		if (text == null || maxSize <= 0 || text.length() <= maxSize) {
+			return text;
+		}
+		return text.substring(0, maxSize) + TextDecoder.truncatedTail(TextDecoder.utf8Length(text));
+	}
+
+	/**
+	 * Apply a size limit to a binary body. Cut binary data is useless, so the whole body is omitted if it's too big.
+	 *
+	 * @param data    body bytes
+	 * @param maxSize maximum number of bytes, zero or negative value means no limit
+	 * @return the data itself or {@code null} if it exceeds the limit
+	 */
+	@Nullable
+	static byte[] limit(@Nullable byte[] data, int maxSize) {
+		if (data == null || maxSize <= 0 || data.length <= maxSize) {
+			return data;
+		}
+		return null;
+	}
+
+	@Nullable
+	private static String toText(@Nullable Object body, @Nonnull Charset charset, @Nonnull LoggingProfile profile) {
+		if (body == null) {
+			return null;
+		}
+		if (body instanceof byte[]) {
+			return TextDecoder.decode((byte[]) body, charset, profile.getMaxBodySize());
+		}
+		return truncate(body.toString(), profile.getMaxBodySize());
+	}
+
+	@Nullable
+	private static String toText(@Nullable Object body, @Nullable String contentType, @Nonnull LoggingProfile profile) {
+		return toText(body, TextDecoder.getContentTypeCharset(contentType), profile);
+	}
+
+	@Nullable
+	private static String toText(@Nullable ResponseBody<?> body, @Nullable String contentType, @Nonnull LoggingProfile profile) {
+		if (body == null) {
+			return null;
+		}
+		if (profile.getMaxBodySize() <= 0) {
+			return body.asString();
+		}
+		return TextDecoder.decode(body.asByteArray(), TextDecoder.getContentTypeCharset(contentType), profile.getMaxBodySize());
+	}
+
+	@Nullable
+	private static byte[] toBytes(@Nullable Object body) {
+		if (body == null || body instanceof byte[]) {
+			return (byte[]) body;
+		}
+		return body.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Nullable
+	private static BodyCaptureStrategy resolve(@Nullable Function<String, BodyCaptureStrategy> bodyCapture, @Nullable String mimeType) {
+		return bodyCapture == null ? null : bodyCapture.apply(mimeType);
+	}
+
+	@Nullable
+	private static CapturedBody capture(@Nonnull BodyCaptureStrategy strategy, @Nullable Object body) {
+		BodySource source = BodySource.of(body);
+		if (source == null) {
+			return null;
+		}
+		try {
+			return strategy.capture(source);
+		} catch (IOException e) {
+			return CapturedBody.summary("Unable to capture body: " + e.getMessage());
+		}
+	}
+
+	@Nullable
+	private static String withNote(@Nullable String text, @Nonnull CapturedBody captured) {
+		return text == null || captured.getNote() == null ? text : text + captured.getNote();
+	}
+
+	private static void addCapturedBody(@Nonnull CapturedBody captured, @Nonnull BodyType bodyType, @Nullable String contentType,
+			@Nonnull LoggingProfile profile, @Nonnull BiConsumer<String, String> textBody, @Nonnull BiConsumer<String, byte[]> binaryBody) {
+		if (captured.isSummary()) {
+			textBody.accept(PLAIN_TEXT_TYPE, captured.getSummary());
+			return;
+		}
+		String mimeType = getMimeType(contentType);
+		if (BodyType.TEXT == bodyType) {
+			textBody.accept(mimeType, withNote(toText(captured.getContent(), contentType, profile), captured));
+		} else {
+			binaryBody.accept(mimeType, limit(toBytes(captured.getContent()), profile.getMaxBodySize()));
+		}
+	}
+
+	private static void addCookies(@Nullable Cookies cookies, @Nonnull CookieConsumer consumer) {
+		ofNullable(cookies).ifPresent(c -> c.forEach(cookie -> consumer.accept(
+				cookie.getName(),
+				cookie.getValue(),
+				cookie.getComment(),
+				cookie.getPath(),
+				cookie.getDomain(),
+				cookie.getMaxAge(),
+				cookie.isSecured(),
+				cookie.isHttpOnly(),
+				ofNullable(cookie.getExpiryDate()).map(Date::toInstant).orElse(null),
+				cookie.getVersion(),
+				cookie.getSameSite()
+		)));
+	}
+
+	/**
+	 * Both request and response formatter builders accept cookies field by field.
+	 */
+	@FunctionalInterface
+	private interface CookieConsumer {
+		void accept(String name, String value, String comment, String path, String domain, Long maxAge, Boolean secured,
+				Boolean httpOnly, Instant expiryDate, Integer version, String sameSite);
+	}
+
 	@Nonnull
 	public static HttpRequestFormatter createHttpRequestFormatter(@Nonnull FilterableRequestSpecification requestSpecification,
 			@Nullable Function<String, String> uriConverter, @Nullable Function<Header, String> headerConverter,
 			@Nullable Function<Cookie, String> cookieConverter, @Nullable Function<Param, String> paramConverter,
 			@Nullable Map<String, Function<String, String>> prettifiers, @Nullable Function<Header, String> partHeaderConverter,
 			@Nonnull Map<String, BodyType> bodyTypeMap) {
+		return createHttpRequestFormatter(
+				ExchangeSnapshot.captureRequest(requestSpecification),
+				uriConverter,
+				headerConverter,
+				cookieConverter,
+				paramConverter,
+				prettifiers,
+				partHeaderConverter,
+				bodyTypeMap,
+				LoggingProfile.DEFAULT
+		);
+	}
+
+	@Nonnull
+	public static HttpRequestFormatter createHttpRequestFormatter(@Nonnull ExchangeSnapshot exchange,
+			@Nullable Function<String, String> uriConverter, @Nullable Function<Header, String> headerConverter,
+			@Nullable Function<Cookie, String> cookieConverter, @Nullable Function<Param, String> paramConverter,
+			@Nullable Map<String, Function<String, String>> prettifiers, @Nullable Function<Header, String> partHeaderConverter,
+			@Nonnull Map<String, BodyType> bodyTypeMap, @Nonnull LoggingProfile profile) {
+		return createHttpRequestFormatter(
+				exchange,
+				uriConverter,
+				headerConverter,
+				cookieConverter,
+				paramConverter,
+				prettifiers,
+				partHeaderConverter,
+				bodyTypeMap,
+				profile,
+				null
+		);
+	}
+
+	/**
+	 * Create a request formatter.
+	 *
+	 * @param bodyCapture resolves a {@link BodyCaptureStrategy} by body MIME type, {@code null} result or resolver means the whole body
+	 *                    is logged as is
+	 */
+	@Nonnull
+	public static HttpRequestFormatter createHttpRequestFormatter(@Nonnull ExchangeSnapshot exchange,
+			@Nullable Function<String, String> uriConverter, @Nullable Function<Header, String> headerConverter,
+			@Nullable Function<Cookie, String> cookieConverter, @Nullable Function<Param, String> paramConverter,
+			@Nullable Map<String, Function<String, String>> prettifiers, @Nullable Function<Header, String> partHeaderConverter,
+			@Nonnull Map<String, BodyType> bodyTypeMap, @Nonnull LoggingProfile profile,
+			@Nullable Function<String, BodyCaptureStrategy> bodyCapture) {
 		HttpRequestFormatter.Builder builder = new HttpRequestFormatter.Builder(
-				requestSpecification.getMethod(),
-				requestSpecification.getURI()
+				exchange.getMethod(),
+				ParamLimiter.limitQuery(exchange.getUri(), profile)
 		);
-		ofNullable(requestSpecification.getHeaders()).ifPresent(headers -> headers.forEach(h -> builder.addHeader(
-				h.getName(),
-				h.getValue()
-		)));
-		ofNullable(requestSpecification.getCookies()).ifPresent(cookies -> cookies.forEach(c -> builder.addCookie(
-				c.getName(),
-				c.getValue(),
-				c.getComment(),
-				c.getPath(),
-				c.getDomain(),
-				c.getMaxAge(),
-				c.isSecured(),
-				c.isHttpOnly(),
-				ofNullable(c.getExpiryDate()).map(Date::toInstant).orElse(null),
-				c.getVersion(),
-				c.getSameSite()
-		)));
+		if (profile.isLogHeaders()) {
+			exchange.getRequestHeaders().forEach(builder::addHeader);
+		}
+		if (profile.isLogCookies()) {
+			addCookies(exchange.getRequestCookies(), builder::addCookie);
+		}
 		builder.uriConverter(uriConverter)
 				.headerConverter(headerConverter)
 				.cookieConverter(cookieConverter)
 				.paramConverter(paramConverter)
 				.prettifiers(prettifiers);
-		String mimeType = getMimeType(requestSpecification.getContentType());
-		BodyType bodyType = getBodyType(requestSpecification.getContentType(), bodyTypeMap);
+		if (!profile.isLogBody()) {
+			return builder.build();
+		}
+		String contentType = exchange.getRequestContentType();
+		String mimeType = getMimeType(contentType);
+		BodyType bodyType = getBodyType(contentType, bodyTypeMap);
+		BodyCaptureStrategy strategy = BodyType.FORM == bodyType || BodyType.MULTIPART == bodyType ? null : resolve(bodyCapture, mimeType);
+		CapturedBody captured = strategy == null ? null : capture(strategy, exchange.getRequestBody());
+		if (captured != null) {
+			addCapturedBody(captured, bodyType, contentType, profile, builder::bodyText, builder::bodyBytes);
+			return builder.build();
+		}
 		switch (bodyType) {
 			case TEXT:
-				builder.bodyText(mimeType, requestSpecification.getBody());
+				builder.bodyText(mimeType, toText(exchange.getRequestBody(), contentType, profile));
 				break;
 			case FORM:
-				builder.bodyParams(requestSpecification.getFormParams());
+				// Form parameters are limited when the request is captured
+				builder.bodyParams(exchange.getFormParams());
 				break;
 			case MULTIPART:
-				toParts(requestSpecification, bodyTypeMap, partHeaderConverter).forEach(builder::addBodyPart);
+				toParts(exchange, bodyTypeMap, partHeaderConverter, profile, bodyCapture).forEach(builder::addBodyPart);
 				break;
 			default:
-				builder.bodyBytes(mimeType, requestSpecification.getBody());
+				builder.bodyBytes(mimeType, limit(toBytes(exchange.getRequestBody()), profile.getMaxBodySize()));
 		}
 		return builder.build();
 	}
@@ -152,30 +342,134 @@ public class HttpEntityFactory {
 	public static HttpResponseFormatter createHttpResponseFormatter(@Nonnull Response response,
 			@Nullable Function<Header, String> headerConverter, @Nullable Function<Cookie, String> cookieConverter,
 			@Nullable Map<String, Function<String, String>> prettifiers, @Nonnull Map<String, BodyType> bodyTypeMap) {
-		HttpResponseFormatter.Builder builder = new HttpResponseFormatter.Builder(response.statusCode(), response.getStatusLine());
-		ofNullable(response.getHeaders()).ifPresent(headers -> headers.forEach(h -> builder.addHeader(h.getName(), h.getValue())));
-		ofNullable(response.getDetailedCookies()).ifPresent(cookies -> cookies.forEach(c -> builder.addCookie(
-				c.getName(),
-				c.getValue(),
-				c.getComment(),
-				c.getPath(),
-				c.getDomain(),
-				c.getMaxAge(),
-				c.isSecured(),
-				c.isHttpOnly(),
-				ofNullable(c.getExpiryDate()).map(Date::toInstant).orElse(null),
-				c.getVersion(),
-				c.getSameSite()
-		)));
+		return createHttpResponseFormatter(
+				ExchangeSnapshot.captureResponse(response),
+				headerConverter,
+				cookieConverter,
+				prettifiers,
+				bodyTypeMap,
+				LoggingProfile.DEFAULT
+		);
+	}
+
+	@Nonnull
+	public static HttpResponseFormatter createHttpResponseFormatter(@Nonnull ExchangeSnapshot exchange,
+			@Nullable Function<Header, String> headerConverter, @Nullable Function<Cookie, String> cookieConverter,
+			@Nullable Map<String, Function<String, String>> prettifiers, @Nonnull Map<String, BodyType> bodyTypeMap,
+			@Nonnull LoggingProfile profile) {
+		return createHttpResponseFormatter(exchange, headerConverter, cookieConverter, prettifiers, bodyTypeMap, profile, null);
+	}
+
+	/**
+	 * Create a response formatter.
+	 *
+	 * @param bodyCapture resolves a {@link BodyCaptureStrategy} by body MIME type, {@code null} result or resolver means the whole body
+	 *                    is logged as is
+	 */
+	@Nonnull
+	public static HttpResponseFormatter createHttpResponseFormatter(@Nonnull ExchangeSnapshot exchange,
+			@Nullable Function<Header, String> headerConverter, @Nullable Function<Cookie, String> cookieConverter,
+			@Nullable Map<String, Function<String, String>> prettifiers, @Nonnull Map<String, BodyType> bodyTypeMap,
+			@Nonnull LoggingProfile profile, @Nullable Function<String, BodyCaptureStrategy> bodyCapture) {
+		HttpResponseFormatter.Builder builder = new HttpResponseFormatter.Builder(exchange.getStatusCode(), exchange.getStatusLine());
+		if (profile.isLogHeaders()) {
+			exchange.getResponseHeaders().forEach(builder::addHeader);
+		}
+		if (profile.isLogCookies()) {
+			addCookies(exchange.getResponseCookies(), builder::addCookie);
+		}
 		builder.headerConverter(headerConverter).cookieConverter(cookieConverter).prettifiers(prettifiers);
+		if (!profile.isLogBody()) {
+			return builder.build();
+		}
 
-		String type = getMimeType(response.getContentType());
-		BodyType bodyType = getBodyType(response.getContentType(), bodyTypeMap);
+		String contentType = exchange.getResponseContentType();
+		String type = getMimeType(contentType);
+		BodyType bodyType = getBodyType(contentType, bodyTypeMap);
+		BodyCaptureStrategy strategy = resolve(bodyCapture, type);
+		CapturedBody captured = strategy == null ? null : capture(strategy, exchange.getResponseBodyBytes());
+		if (captured != null) {
+			addCapturedBody(captured, bodyType, contentType, profile, builder::bodyText, builder::bodyBytes);
+			return builder.build();
+		}
+		ResponseBody<?> body = exchange.getResponseBody();
 		if (BodyType.TEXT == bodyType) {
-			builder.bodyText(type, ofNullable(response.getBody()).map(ResponseBodyData::asString).orElse(null));
+			builder.bodyText(type, toText(body, contentType, profile));
 		} else {
-			builder.bodyBytes(type, ofNullable(response.getBody()).map(ResponseBodyData::asByteArray).orElse(null));
+			builder.bodyBytes(type, limit(exchange.getResponseBodyBytes(), profile.getMaxBodySize()));
 		}
 		return builder.build();
 	}
+
+	/**
+	 * Detect a GraphQL operation in a request body, see {@link GraphQlOperation#detect(String, String)}. The content type is checked
+	 * first and a binary JSON body is searched for the {@code query} field before it's decoded, so other requests are not decoded.
+	 *
+	 * @param contentType request Content-Type header value
+	 * @param body        request body as it was set in the specification
+	 * @return the operation or {@code null} if the request is not a GraphQL request
+	 */
+	@Nullable
+	public static GraphQlOperation detectGraphQlOperation(@Nullable String contentType, @Nullable Object body) {
+		if (!GraphQlOperation.isGraphQlContentType(contentType)) {
+			return null;
+		}
+		String text;
+		if (body instanceof String) {
+			text = (String) body;
+		} else if (body instanceof byte[]) {
+			byte[] bytes = (byte[]) body;
+			Charset charset = TextDecoder.getContentTypeCharset(contentType);
+			boolean asciiCompatible = StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset)
+					|| StandardCharsets.ISO_8859_1.equals(charset);
+			if (asciiCompatible && TextDecoder.isJson(contentType) && !GraphQlOperation.mayHaveQuery(bytes)) {
+				return null;
+			}
+			text = new String(bytes, charset);
+		} else {
+			return null;
+		}
+		return GraphQlOperation.detect(contentType, text);
+	}
+
+	private static long sizeOf(@Nullable Object content) {
+		if (content instanceof byte[]) {
+			return ((byte[]) content).length;
+		}
+		if (content instanceof CharSequence) {
+			return ((CharSequence) content).length();
+		}
+		if (content instanceof File) {
+			return ((File) content).length();
+		}
+		return 0;
+	}
+
+	/**
+	 * Estimate size of the request payload: body, form params and multipart contents. Only form params kept by the capture profile limits
+	 * are counted, the same ones which are logged.
+	 *
+	 * @param exchange captured exchange
+	 * @return estimated payload size in bytes
+	 */
+	public static long estimateRequestSize(@Nonnull ExchangeSnapshot exchange) {
+		long size = exchange.getRequestBodySize();
+		size += ofNullable(exchange.getFormParams()).map(params -> params.entrySet()
+				.stream()
+				.mapToLong(e -> sizeOf(e.getKey()) + sizeOf(e.getValue()))
+				.sum()).orElse(0L);
+		size += ofNullable(exchange.getMultiPartParams()).map(parts -> parts.stream().mapToLong(p -> sizeOf(p.getContent())).sum())
+				.orElse(0L);
+		return size;
+	}
+
+	/**
+	 * Estimate size of the response payload.
+	 *
+	 * @param exchange captured exchange
+	 * @return estimated payload size in bytes
+	 */
+	public static long estimateResponseSize(@Nonnull ExchangeSnapshot exchange) {
+		return ofNullable(exchange.getResponseBodyBytes()).map(b -> (long) b.length).orElse(0L);
+	}
 }
@@ -0,0 +1,532 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import com.epam.reportportal.message.ReportPortalMessage;
+import com.epam.reportportal.utils.files.ByteSource;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.http.entity.ContentType;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Downsamples image bodies above a pixel or byte threshold to a bounded-size preview, using only JDK ImageIO.
+ * <p>
+ * Reduction runs on a small pool of daemon threads with a bounded queue: if the queue is full, the image is reduced in the submitting
+ * thread, so a burst of images slows the test down instead of piling up in memory. Images are decoded with source subsampling, so large
+ * images are never fully decoded, and encoded back in their original format, so the media type of the body stays the same. If the image
+ * can't be decoded or the preview is not smaller than the original, the original is used.
+ * <p>
+ * The reducer should be closed once it's not needed any more, closed reducer doesn't reduce images.
+ */
+public class ImageReducer implements AutoCloseable {
+
+	private static final String IMAGE_MIME_PREFIX = "image/";
+	private static final String ORIGINAL_IMAGE_MESSAGE = "Original image";
+	private static final String TRUNCATED_ORIGINAL_MESSAGE = "Original image, truncated to %d of %d bytes";
+
+	/**
+	 * What to do with the original of a reduced image.
+	 */
+	public enum OriginalPolicy {
+		/**
+		 * Don't log the original
+		 */
+		DISCARD,
+		/**
+		 * Log the original as a separate entry right after the preview
+		 */
+		KEEP,
+		/**
+		 * Retain originals of the current thread in memory until they are logged or discarded, e.g. by a test failure hook
+		 */
+		KEEP_ON_FAILURE
+	}
+
+	/**
+	 * Image body submitted for reduction.
+	 */
+	public static class Preview {
+		private final ImageReducer reducer;
+		private final String mimeType;
+		private final byte[] original;
+		private final CompletableFuture<byte[]> future;
+
+		private Preview(@Nonnull ImageReducer reducer, @Nonnull String mimeType, @Nonnull byte[] original,
+				@Nonnull CompletableFuture<byte[]> future) {
+			this.reducer = reducer;
+			this.mimeType = mimeType;
+			this.original = original;
+			this.future = future;
+		}
+
+		/**
+		 * @return the reducer which made the preview
+		 */
+		@Nonnull
+		public ImageReducer getReducer() {
+			return reducer;
+		}
+
+		@Nonnull
+		public String getMimeType() {
+			return mimeType;
+		}
+
+		@Nonnull
+		public byte[] getOriginal() {
+			return original;
+		}
+
+		/**
+		 * Wait for the reduction to finish.
+		 *
+		 * @return reduced image or the original if it was not reduced
+		 */
+		@Nonnull
+		public byte[] get() {
+			try {
+				return future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return original;
+			} catch (ExecutionException e) {
+				return original;
+			}
+		}
+
+		/**
+		 * @return {@code true} if the reduction is finished
+		 */
+		public boolean isDone() {
+			return future.isDone();
+		}
+
+		/**
+		 * Run an action once the reduction is finished, without waiting for it. The action runs in the reducer thread or, if the
+		 * reduction is already finished, in the calling thread.
+		 *
+		 * @param action receives the reduced image or the original if it was not reduced
+		 */
+		public void whenReady(@Nonnull Consumer<byte[]> action) {
+			future.whenComplete((result, error) -> action.accept(result == null ? original : result));
+		}
+
+		/**
+		 * @return {@code true} if the image was replaced with a smaller preview, waits for the reduction to finish
+		 */
+		public boolean isReduced() {
+			return get() != original;
+		}
+	}
+
+	/**
+	 * Original retained until the test result is known, either on the heap or in the payload arena.
+	 */
+	private static class Retained {
+		private final Preview preview;
+		private final String mimeType;
+		private final byte[] data;
+		private final PayloadArena.Payload payload;
+
+		private Retained(@Nonnull Preview preview, @Nullable byte[] data, @Nullable PayloadArena.Payload payload) {
+			this.preview = preview;
+			this.mimeType = preview.getMimeType();
+			this.data = data;
+			this.payload = payload;
+		}
+
+		/**
+		 * @return message with the original or {@code null} if the image turned out not to be reduced
+		 */
+		@Nullable
+		private ReportPortalMessage toMessage() {
+			if (!preview.isReduced()) {
+				release();
+				return null;
+			}
+			if (payload == null) {
+				return new ReportPortalMessage(ByteSource.wrap(data), mimeType, ORIGINAL_IMAGE_MESSAGE);
+			}
+			try {
+				byte[] bytes = payload.toByteArray();
+				if (payload.isTruncated()) {
+					// Cut image data can't be shown as an image
+					return new ReportPortalMessage(
+							ByteSource.wrap(bytes),
+							ContentType.APPLICATION_OCTET_STREAM.getMimeType(),
+							String.format(TRUNCATED_ORIGINAL_MESSAGE, payload.getLength(), payload.getOriginalLength())
+					);
+				}
+				return new ReportPortalMessage(ByteSource.wrap(bytes), mimeType, ORIGINAL_IMAGE_MESSAGE);
+			} finally {
+				payload.release();
+			}
+		}
+
+		private void release() {
+			if (payload != null) {
+				payload.release();
+			}
+		}
+	}
+
+	private final long maxPixels;
+	private final long maxBytes;
+	private final int previewSize;
+	private final OriginalPolicy originalPolicy;
+	private final int maxRetained;
+	private final ThreadPoolExecutor executor;
+	private final PayloadArena arena;
+	private final ThreadLocal<Deque<Retained>> retained = ThreadLocal.withInitial(ArrayDeque::new);
+
+	private ImageReducer(@Nonnull Builder builder) {
+		maxPixels = builder.maxPixels;
+		maxBytes = builder.maxBytes;
+		previewSize = builder.previewSize;
+		originalPolicy = builder.originalPolicy;
+		maxRetained = builder.maxRetained;
+		arena = builder.arena;
+		AtomicInteger threadNumber = new AtomicInteger();
+		executor = new ThreadPoolExecutor(
+				builder.threads,
+				builder.threads,
+				0L,
+				TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(builder.queueSize),
+				r -> {
+					Thread thread = new Thread(r, "rp-image-reducer-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				// Run in the submitting thread if the queue is full, even after shutdown, so a preview is always completed
+				(r, e) -> r.run()
+		);
+	}
+
+	/**
+	 * Reduce an image if it's above the thresholds.
+	 *
+	 * @param data        image data
+	 * @param maxPixels   maximum number of pixels of an image which is not reduced
+	 * @param maxBytes    maximum size in bytes of an image which is not reduced
+	 * @param previewSize maximum width and height of a preview
+	 * @return preview or the same array if the image was not reduced
+	 * @throws IOException if the image can't be read or written
+	 */
+	@Nonnull
+	static byte[] reduce(@Nonnull byte[] data, long maxPixels, long maxBytes, int previewSize) throws IOException {
+		try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+			if (input == null) {
+				return data;
+			}
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+			if (!readers.hasNext()) {
+				return data;
+			}
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(input, true, true);
+				int width = reader.getWidth(0);
+				int height = reader.getHeight(0);
+				if (data.length <= maxBytes && (long) width * height <= maxPixels) {
+					return data;
+				}
+				String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+				double scale = Math.min(1.0, (double) previewSize / Math.max(width, height));
+				int targetWidth = Math.max(1, (int) Math.round(width * scale));
+				int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+				// Decode only every n-th pixel, leaving at least twice the preview resolution for smooth scaling
+				int subsampling = Math.max(1, Math.max(width, height) / (previewSize * 2));
+				ImageReadParam param = reader.getDefaultReadParam();
+				param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+				BufferedImage image = reader.read(0, param);
+
+				boolean alpha = image.getColorModel().hasAlpha() && !"jpeg".equals(format) && !"jpg".equals(format);
+				BufferedImage preview = new BufferedImage(
+						targetWidth,
+						targetHeight,
+						alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB
+				);
+				Graphics2D graphics = preview.createGraphics();
+				try {
+					graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+					graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+				} finally {
+					graphics.dispose();
+				}
+				ByteArrayOutputStream output = new ByteArrayOutputStream();
+				if (!ImageIO.write(preview, format, output)) {
+					return data;
+				}
+				byte[] result = output.toByteArray();
+				return result.length < data.length ? result : data;
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	/**
+	 * @param mimeType body media type
+	 * @return {@code true} if the media type is an image one
+	 */
+	public static boolean isImage(@Nullable String mimeType) {
+		return mimeType != null && mimeType.toLowerCase(Locale.ROOT).startsWith(IMAGE_MIME_PREFIX);
+	}
+
+	/**
+	 * Submit a body for reduction on the background pool.
+	 *
+	 * @param mimeType body media type
+	 * @param body     body as it was set in the request or received in the response
+	 * @return submitted preview or {@code null} if the body is not an image or the reducer is closed
+	 */
+	@Nullable
+	public Preview submit(@Nullable String mimeType, @Nullable Object body) {
+		if (!isImage(mimeType) || !(body instanceof byte[]) || executor.isShutdown()) {
+			return null;
+		}
+		byte[] data = (byte[]) body;
+		CompletableFuture<byte[]> future = new CompletableFuture<>();
+		executor.execute(() -> {
+			try {
+				future.complete(reduce(data, maxPixels, maxBytes, previewSize));
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		});
+		return new Preview(this, mimeType, data, future);
+	}
+
+	@Nonnull
+	public OriginalPolicy getOriginalPolicy() {
+		return originalPolicy;
+	}
+
+	/**
+	 * Handle the original of a logged preview according to the {@link OriginalPolicy}. With {@link OriginalPolicy#KEEP_ON_FAILURE}
+	 * policy it doesn't wait for the reduction: the original of an unfinished preview is retained and dropped on drain if the image was
+	 * not reduced.
+	 *
+	 * @param preview logged preview
+	 * @return message with the original to log right away or {@code null} if there is nothing to log now
+	 */
+	@Nullable
+	public ReportPortalMessage keepOriginal(@Nonnull Preview preview) {
+		if (originalPolicy == OriginalPolicy.DISCARD) {
+			return null;
+		}
+		if ((originalPolicy == OriginalPolicy.KEEP || preview.isDone()) && !preview.isReduced()) {
+			return null;
+		}
+		if (originalPolicy == OriginalPolicy.KEEP) {
+			return new ReportPortalMessage(ByteSource.wrap(preview.getOriginal()), preview.getMimeType(), ORIGINAL_IMAGE_MESSAGE);
+		}
+		Retained original;
+		if (arena == null) {
+			original = new Retained(preview, preview.getOriginal(), null);
+		} else {
+			PayloadArena.Payload payload = arena.store(preview.getOriginal());
+			if (payload == null) {
+				// The arena is exhausted, the original is dropped
+				return null;
+			}
+			original = new Retained(preview, null, payload);
+		}
+		Deque<Retained> originals = retained.get();
+		if (originals.size() >= maxRetained) {
+			originals.removeFirst().release();
+		}
+		originals.addLast(original);
+		return null;
+	}
+
+	/**
+	 * Take originals retained in the current thread with {@link OriginalPolicy#KEEP_ON_FAILURE} policy. Originals held in the payload
+	 * arena are copied to the heap and released.
+	 *
+	 * @return retained originals in order of logging
+	 */
+	@Nonnull
+	public List<ReportPortalMessage> drainRetained() {
+		Deque<Retained> originals = retained.get();
+		List<ReportPortalMessage> result = new ArrayList<>(originals.size());
+		Retained original;
+		while ((original = originals.pollFirst()) != null) {
+			ReportPortalMessage message = original.toMessage();
+			if (message != null) {
+				result.add(message);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Drop originals retained in the current thread and release their arena buffers.
+	 */
+	public void discardRetained() {
+		Deque<Retained> originals = retained.get();
+		Retained original;
+		while ((original = originals.pollFirst()) != null) {
+			original.release();
+		}
+	}
+
+	/**
+	 * Stop the background threads. Already submitted images are still reduced, new ones are not.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	public static class Builder {
+		private long maxPixels = 1024 * 1024;
+		private long maxBytes = 256 * 1024;
+		private int previewSize = 640;
+		private OriginalPolicy originalPolicy = OriginalPolicy.DISCARD;
+		private int maxRetained = 16;
+		private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		private int queueSize = 64;
+		private PayloadArena arena;
+
+		/**
+		 * @param maxPixels images with more pixels are reduced
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder maxPixels(long maxPixels) {
+			this.maxPixels = maxPixels;
+			return this;
+		}
+
+		/**
+		 * @param maxBytes images larger in bytes are reduced
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder maxBytes(long maxBytes) {
+			this.maxBytes = maxBytes;
+			return this;
+		}
+
+		/**
+		 * @param previewSize maximum width and height of a preview
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder previewSize(int previewSize) {
+			if (previewSize <= 0) {
+				throw new IllegalArgumentException("Preview size should be positive");
+			}
+			this.previewSize = previewSize;
+			return this;
+		}
+
+		/**
+		 * @param originalPolicy what to do with originals of reduced images
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder originalPolicy(@Nonnull OriginalPolicy originalPolicy) {
+			this.originalPolicy = originalPolicy;
+			return this;
+		}
+
+		/**
+		 * @param maxRetained maximum number of originals retained per thread with {@link OriginalPolicy#KEEP_ON_FAILURE} policy, the oldest
+		 *                    ones are dropped
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder maxRetained(int maxRetained) {
+			if (maxRetained <= 0) {
+				throw new IllegalArgumentException("Number of retained originals should be positive");
+			}
+			this.maxRetained = maxRetained;
+			return this;
+		}
+
+		/**
+		 * @param threads number of background threads
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder threads(int threads) {
+			if (threads <= 0) {
+				throw new IllegalArgumentException("Number of threads should be positive");
+			}
+			this.threads = threads;
+			return this;
+		}
+
+		/**
+		 * @param queueSize maximum number of images waiting for a background thread, the following ones are reduced in the submitting
+		 *                  thread
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder queueSize(int queueSize) {
+			if (queueSize <= 0) {
+				throw new IllegalArgumentException("Queue size should be positive");
+			}
+			this.queueSize = queueSize;
+			return this;
+		}
+
+		/**
+		 * @param arena off-heap arena to hold originals retained with {@link OriginalPolicy#KEEP_ON_FAILURE} policy or {@code null} to
+		 *              hold them on the heap
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder arena(@Nullable PayloadArena arena) {
+			this.arena = arena;
+			return this;
+		}
+
+		@Nonnull
+		public ImageReducer build() {
+			return new ImageReducer(this);
+		}
+	}
+}
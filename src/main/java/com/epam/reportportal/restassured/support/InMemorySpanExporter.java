@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps exported spans in memory, E.G. to analyze them at the end of a suite.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+	private final List<ExchangeSpan> spans = new ArrayList<>();
+
+	@Override
+	public synchronized void export(@Nonnull List<ExchangeSpan> batch) {
+		spans.addAll(batch);
+	}
+
+	/**
+	 * @return copy of exported spans
+	 */
+	@Nonnull
+	public synchronized List<ExchangeSpan> getSpans() {
+		return new ArrayList<>(spans);
+	}
+
+	/**
+	 * Drop exported spans.
+	 */
+	public synchronized void reset() {
+		spans.clear();
+	}
+}
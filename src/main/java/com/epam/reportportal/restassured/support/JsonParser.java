@@ -0,0 +1,369 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON parser and writer for body inspection, so the logger doesn't depend on a JSON library being on the classpath.
+ * <p>
+ * Objects are parsed to {@link LinkedHashMap}s, arrays to {@link List}s, numbers to {@link BigDecimal}s, and {@code null} literals to
+ * {@code null}.
+ */
+public class JsonParser {
+
+	private static final int MAX_DEPTH = 512;
+
+	private final String text;
+	private int position;
+	private int depth;
+
+	private JsonParser(@Nonnull String text) {
+		this.text = text;
+	}
+
+	/**
+	 * Parse a JSON document.
+	 *
+	 * @param text JSON text
+	 * @return parsed value
+	 * @throws IllegalArgumentException if the text is not a valid JSON document
+	 */
+	@Nullable
+	public static Object parse(@Nonnull String text) {
+		JsonParser parser = new JsonParser(text);
+		Object result = parser.readValue();
+		parser.skipWhitespace();
+		if (parser.position < text.length()) {
+			throw parser.error("Unexpected trailing content");
+		}
+		return result;
+	}
+
+	/**
+	 * Parse a JSON document if it's valid.
+	 *
+	 * @param text JSON text
+	 * @return parsed value or {@code null} if the text is not valid JSON
+	 */
+	@Nullable
+	public static Object parseOrNull(@Nullable String text) {
+		if (text == null) {
+			return null;
+		}
+		try {
+			return parse(text);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	@Nonnull
+	private IllegalArgumentException error(@Nonnull String message) {
+		return new IllegalArgumentException(message + " at position " + position);
+	}
+
+	private void skipWhitespace() {
+		while (position < text.length()) {
+			char c = text.charAt(position);
+			if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+				return;
+			}
+			position++;
+		}
+	}
+
+	private void expect(char expected) {
+		skipWhitespace();
+		if (position >= text.length() || text.charAt(position) != expected) {
+			throw error("Expected '" + expected + "'");
+		}
+		position++;
+	}
+
+	private boolean consume(char expected) {
+		skipWhitespace();
+		if (position < text.length() && text.charAt(position) == expected) {
+			position++;
+			return true;
+		}
+		return false;
+	}
+
+	@Nullable
+	private Object readValue() {
+		skipWhitespace();
+		if (position >= text.length()) {
+			throw error("Unexpected end of input");
+		}
+		char c = text.charAt(position);
+		switch (c) {
+			case '{':
+				return readObject();
+			case '[':
+				return readArray();
+			case '"':
+				return readString();
+			case 't':
+				return readLiteral("true", Boolean.TRUE);
+			case 'f':
+				return readLiteral("false", Boolean.FALSE);
+			case 'n':
+				return readLiteral("null", null);
+			default:
+				if (c == '-' || c >= '0' && c <= '9') {
+					return readNumber();
+				}
+				throw error("Unexpected character '" + c + "'");
+		}
+	}
+
+	private void enter() {
+		if (++depth > MAX_DEPTH) {
+			throw error("Nesting is too deep");
+		}
+		position++;
+	}
+
+	@Nonnull
+	private Map<String, Object> readObject() {
+		enter();
+		Map<String, Object> result = new LinkedHashMap<>();
+		if (!consume('}')) {
+			do {
+				skipWhitespace();
+				if (position >= text.length() || text.charAt(position) != '"') {
+					throw error("Expected object key");
+				}
+				String key = readString();
+				expect(':');
+				result.put(key, readValue());
+			} while (consume(','));
+			expect('}');
+		}
+		depth--;
+		return result;
+	}
+
+	@Nonnull
+	private List<Object> readArray() {
+		enter();
+		List<Object> result = new ArrayList<>();
+		if (!consume(']')) {
+			do {
+				result.add(readValue());
+			} while (consume(','));
+			expect(']');
+		}
+		depth--;
+		return result;
+	}
+
+	@Nonnull
+	private String readString() {
+		position++;
+		StringBuilder result = null;
+		int start = position;
+		while (position < text.length()) {
+			char c = text.charAt(position);
+			if (c == '"') {
+				String value = result == null ? text.substring(start, position) : result.append(text, start, position).toString();
+				position++;
+				return value;
+			}
+			if (c < 0x20) {
+				throw error("Unescaped control character in string");
+			}
+			if (c != '\\') {
+				position++;
+				continue;
+			}
+			if (result == null) {
+				result = new StringBuilder();
+			}
+			result.append(text, start, position);
+			if (++position >= text.length()) {
+				break;
+			}
+			char escaped = text.charAt(position++);
+			switch (escaped) {
+				case '"':
+				case '\\':
+				case '/':
+					result.append(escaped);
+					break;
+				case 'b':
+					result.append('\b');
+					break;
+				case 'f':
+					result.append('\f');
+					break;
+				case 'n':
+					result.append('\n');
+					break;
+				case 'r':
+					result.append('\r');
+					break;
+				case 't':
+					result.append('\t');
+					break;
+				case 'u':
+					if (position + 4 > text.length()) {
+						throw error("Invalid unicode escape");
+					}
+					try {
+						result.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+					} catch (NumberFormatException e) {
+						throw error("Invalid unicode escape");
+					}
+					position += 4;
+					break;
+				default:
+					throw error("Invalid escape character '" + escaped + "'");
+			}
+			start = position;
+		}
+		throw error("Unterminated string");
+	}
+
+	@Nonnull
+	private BigDecimal readNumber() {
+		int start = position;
+		while (position < text.length()) {
+			char c = text.charAt(position);
+			if (c >= '0' && c <= '9' || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+				position++;
+			} else {
+				break;
+			}
+		}
+		try {
+			return new BigDecimal(text.substring(start, position));
+		} catch (NumberFormatException e) {
+			throw error("Invalid number");
+		}
+	}
+
+	@Nullable
+	private Object readLiteral(@Nonnull String literal, @Nullable Object value) {
+		if (!text.startsWith(literal, position)) {
+			throw error("Unexpected literal");
+		}
+		position += literal.length();
+		return value;
+	}
+
+	private static void writeString(@Nonnull StringBuilder builder, @Nonnull String value) {
+		builder.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"':
+					builder.append("\\\"");
+					break;
+				case '\\':
+					builder.append("\\\\");
+					break;
+				case '\n':
+					builder.append("\\n");
+					break;
+				case '\r':
+					builder.append("\\r");
+					break;
+				case '\t':
+					builder.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						builder.append(String.format("\\u%04x", (int) c));
+					} else {
+						builder.append(c);
+					}
+			}
+		}
+		builder.append('"');
+	}
+
+	private static void write(@Nonnull StringBuilder builder, @Nullable Object value, int maxLength) {
+		if (builder.length() > maxLength) {
+			return;
+		}
+		if (value instanceof Map) {
+			builder.append('{');
+			boolean first = true;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!first) {
+					builder.append(',');
+				}
+				first = false;
+				writeString(builder, String.valueOf(entry.getKey()));
+				builder.append(':');
+				write(builder, entry.getValue(), maxLength);
+				if (builder.length() > maxLength) {
+					return;
+				}
+			}
+			builder.append('}');
+		} else if (value instanceof List) {
+			builder.append('[');
+			boolean first = true;
+			for (Object item : (List<?>) value) {
+				if (!first) {
+					builder.append(',');
+				}
+				first = false;
+				write(builder, item, maxLength);
+				if (builder.length() > maxLength) {
+					return;
+				}
+			}
+			builder.append(']');
+		} else if (value instanceof String) {
+			writeString(builder, (String) value);
+		} else if (value instanceof BigDecimal) {
+			builder.append(((BigDecimal) value).toString());
+		} else {
+			builder.append(value);
+		}
+	}
+
+	/**
+	 * Write a parsed value as compact JSON.
+	 *
+	 * @param value     parsed value
+	 * @param maxLength maximum length of the result, longer results are cut and end with '...'; zero or negative value means no limit
+	 * @return JSON text
+	 */
+	@Nonnull
+	public static String write(@Nullable Object value, int maxLength) {
+		int limit = maxLength > 0 ? maxLength : Integer.MAX_VALUE;
+		StringBuilder builder = new StringBuilder();
+		write(builder, value, limit);
+		if (builder.length() > limit) {
+			builder.setLength(Math.max(0, limit - 3));
+			builder.append("...");
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Immutable map of content prettifiers keyed by MIME type, which creates every prettifier only on the first lookup of its MIME type.
+ * <p>
+ * Prettifiers usually load heavy libraries (JSON mappers, XML transformers, HTML parsers), so with this map a suite which never logs,
+ * E.G. XML bodies never pays for XML prettifier initialization. Suppliers registered for several MIME types are called once per MIME type,
+ * so they should return shared instances.
+ * <p>
+ * The map is opt-in: pass it to {@code ReportPortalRestAssuredLoggingFilter.setContentPrettifiers}, which keeps it as is. Copying the map
+ * into another one, e.g. with {@code new HashMap<>(map)}, goes through {@link #entrySet()} and creates all prettifiers.
+ */
+public class LazyPrettifiers extends AbstractMap<String, Function<String, String>> {
+
+	private final Map<String, Supplier<Function<String, String>>> suppliers;
+	private final Map<String, Function<String, String>> resolved = new ConcurrentHashMap<>();
+
+	private LazyPrettifiers(@Nonnull Map<String, Supplier<Function<String, String>>> suppliers) {
+		this.suppliers = Collections.unmodifiableMap(new LinkedHashMap<>(suppliers));
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return suppliers.containsKey(key);
+	}
+
+	@Override
+	@Nullable
+	public Function<String, String> get(Object key) {
+		Function<String, String> prettifier = resolved.get(key);
+		if (prettifier != null || !(key instanceof String)) {
+			return prettifier;
+		}
+		Supplier<Function<String, String>> supplier = suppliers.get(key);
+		if (supplier == null) {
+			return null;
+		}
+		return resolved.computeIfAbsent((String) key, k -> supplier.get());
+	}
+
+	@Override
+	public int size() {
+		return suppliers.size();
+	}
+
+	/**
+	 * Entries are resolved on iteration, so iterating over the map initializes all prettifiers.
+	 */
+	@Override
+	@Nonnull
+	public Set<Entry<String, Function<String, String>>> entrySet() {
+		Set<Entry<String, Function<String, String>>> entries = new LinkedHashSet<>();
+		for (String mimeType : suppliers.keySet()) {
+			entries.add(new SimpleImmutableEntry<>(mimeType, get(mimeType)));
+		}
+		return Collections.unmodifiableSet(entries);
+	}
+
+	public static class Builder {
+		private final Map<String, Supplier<Function<String, String>>> suppliers = new LinkedHashMap<>();
+
+		/**
+		 * Register a prettifier for a MIME type.
+		 *
+		 * @param mimeType   MIME type of the content
+		 * @param prettifier supplier of the prettifier, called on the first lookup of the MIME type
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder put(@Nonnull String mimeType, @Nonnull Supplier<Function<String, String>> prettifier) {
+			suppliers.put(mimeType, prettifier);
+			return this;
+		}
+
+		@Nonnull
+		public LazyPrettifiers build() {
+			return new LazyPrettifiers(suppliers);
+		}
+	}
+}
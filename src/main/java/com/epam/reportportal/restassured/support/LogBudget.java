@@ -0,0 +1,195 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded budget of payload bytes of log entries which are in flight between logging filters and Report Portal client.
+ * <p>
+ * Every logged request and response acquires its payload size from the budget. The filter releases it once the client creates the
+ * log request of the entry, which happens when the entry's test item is started, so entries queued in the client for a slow server are
+ * counted. When the budget is exhausted the configured {@link OverflowPolicy} decides what to do with the payload. An exchange which is
+ * bigger than the whole budget is let through alone, so it never blocks forever.
+ * <p>
+ * Log requests which the client has already created and batches for sending are not counted, the batch size of the client bounds them. Entries of a test item which fails to start are never created and keep their bytes.
+ */
+public class LogBudget {
+
+	/**
+	 * What to do with a payload which does not fit into the budget.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * Wait until the budget has enough room for the payload.
+		 */
+		BLOCK,
+		/**
+		 * Log the entry without body: request/response line, headers and cookies only.
+		 */
+		DROP_BODY,
+		/**
+		 * Do not log the entry at all.
+		 */
+		DROP_EXCHANGE
+	}
+
+	/**
+	 * Result of a budget acquisition.
+	 */
+	public enum Decision {
+		/**
+		 * The payload fits into the budget and should be logged in full.
+		 */
+		FULL,
+		/**
+		 * Only the summary of the entry should be logged, without body.
+		 */
+		SUMMARY,
+		/**
+		 * The entry should not be logged.
+		 */
+		SKIP
+	}
+
+	private final long maxInFlightBytes;
+	private final OverflowPolicy policy;
+	private final Object lock = new Object();
+	private final AtomicLong droppedExchanges = new AtomicLong();
+	private final AtomicLong droppedBodies = new AtomicLong();
+	private long inFlightBytes;
+	private int queueDepth;
+
+	/**
+	 * Create a budget with the given size and overflow policy.
+	 *
+	 * @param maxInFlightBytes maximum size of payloads in flight, in bytes
+	 * @param policy           what to do with a payload which does not fit into the budget
+	 */
+	public LogBudget(long maxInFlightBytes, @Nonnull OverflowPolicy policy) {
+		if (maxInFlightBytes <= 0) {
+			throw new IllegalArgumentException("Budget size should be positive");
+		}
+		this.maxInFlightBytes = maxInFlightBytes;
+		this.policy = policy;
+	}
+
+	private boolean fits(long size) {
+		return inFlightBytes == 0 || inFlightBytes + size <= maxInFlightBytes;
+	}
+
+	/**
+	 * Try to acquire the given number of bytes from the budget. If the result is {@link Decision#FULL} the caller must call
+	 * {@link #release(long)} with the same size once the entry is taken by Report Portal client.
+	 *
+	 * @param size payload size in bytes
+	 * @return what the caller should log
+	 */
+	@Nonnull
+	public Decision acquire(long size) {
+		synchronized (lock) {
+			queueDepth++;
+			if (!fits(size)) {
+				switch (policy) {
+					case DROP_BODY:
+						queueDepth--;
+						droppedBodies.incrementAndGet();
+						return Decision.SUMMARY;
+					case DROP_EXCHANGE:
+						queueDepth--;
+						droppedExchanges.incrementAndGet();
+						return Decision.SKIP;
+					default:
+						while (!fits(size)) {
+							try {
+								lock.wait();
+							} catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+								queueDepth--;
+								droppedBodies.incrementAndGet();
+								return Decision.SUMMARY;
+							}
+						}
+				}
+			}
+			inFlightBytes += size;
+			return Decision.FULL;
+		}
+	}
+
+	/**
+	 * Return previously acquired bytes to the budget.
+	 *
+	 * @param size payload size in bytes
+	 */
+	public void release(long size) {
+		synchronized (lock) {
+			inFlightBytes = Math.max(0, inFlightBytes - size);
+			queueDepth--;
+			lock.notifyAll();
+		}
+	}
+
+	/**
+	 * @return maximum size of payloads in flight, in bytes
+	 */
+	public long getMaxInFlightBytes() {
+		return maxInFlightBytes;
+	}
+
+	/**
+	 * @return overflow policy of the budget
+	 */
+	@Nonnull
+	public OverflowPolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * @return size of payloads in flight at the moment, in bytes
+	 */
+	public long getInFlightBytes() {
+		synchronized (lock) {
+			return inFlightBytes;
+		}
+	}
+
+	/**
+	 * @return number of entries which are in flight or waiting for the budget at the moment
+	 */
+	public int getQueueDepth() {
+		synchronized (lock) {
+			return queueDepth;
+		}
+	}
+
+	/**
+	 * @return number of entries which were not logged due to budget overflow
+	 */
+	public long getDroppedExchanges() {
+		return droppedExchanges.get();
+	}
+
+	/**
+	 * @return number of entries which were logged without body due to budget overflow
+	 */
+	public long getDroppedBodies() {
+		return droppedBodies.get();
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import com.epam.reportportal.listeners.LogLevel;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Verbosity profile of logged exchanges: log level, which parts of requests and responses are logged, body size limit and form and query
+ * parameter limits.
+ */
+public class LoggingProfile {
+
+	/**
+	 * Profile which logs everything on the filter's default log level.
+	 */
+	public static final LoggingProfile DEFAULT = new Builder().build();
+
+	private final LogLevel logLevel;
+	private final boolean logHeaders;
+	private final boolean logCookies;
+	private final boolean logBody;
+	private final int maxBodySize;
+	private final int maxParams;
+	private final int maxParamValueLength;
+	private final int maxParamsSize;
+
+	private LoggingProfile(@Nonnull Builder builder) {
+		logLevel = builder.logLevel;
+		logHeaders = builder.logHeaders;
+		logCookies = builder.logCookies;
+		logBody = builder.logBody;
+		maxBodySize = builder.maxBodySize;
+		maxParams = builder.maxParams;
+		maxParamValueLength = builder.maxParamValueLength;
+		maxParamsSize = builder.maxParamsSize;
+	}
+
+	private LoggingProfile(@Nonnull LoggingProfile profile, boolean logBody) {
+		logLevel = profile.logLevel;
+		logHeaders = profile.logHeaders;
+		logCookies = profile.logCookies;
+		this.logBody = logBody;
+		maxBodySize = profile.maxBodySize;
+		maxParams = profile.maxParams;
+		maxParamValueLength = profile.maxParamValueLength;
+		maxParamsSize = profile.maxParamsSize;
+	}
+
+	/**
+	 * @return log level of the profile or {@code null} if the filter's default log level should be used
+	 */
+	@Nullable
+	public LogLevel getLogLevel() {
+		return logLevel;
+	}
+
+	public boolean isLogHeaders() {
+		return logHeaders;
+	}
+
+	public boolean isLogCookies() {
+		return logCookies;
+	}
+
+	public boolean isLogBody() {
+		return logBody;
+	}
+
+	/**
+	 * @return maximum body size to log: characters for text bodies and bytes for binary ones; zero or negative value means no limit
+	 */
+	public int getMaxBodySize() {
+		return maxBodySize;
+	}
+
+	/**
+	 * @return maximum number of form or query parameters to log; zero or negative value means no limit
+	 */
+	public int getMaxParams() {
+		return maxParams;
+	}
+
+	/**
+	 * @return maximum number of characters of a form or query parameter value to log; zero or negative value means no limit
+	 */
+	public int getMaxParamValueLength() {
+		return maxParamValueLength;
+	}
+
+	/**
+	 * @return maximum total number of characters of form or query parameter names and values to log; zero or negative value means no
+	 * limit
+	 */
+	public int getMaxParamsSize() {
+		return maxParamsSize;
+	}
+
+	/**
+	 * @return {@code true} if any of form or query parameter limits is set
+	 */
+	public boolean isParamsLimited() {
+		return maxParams > 0 || maxParamValueLength > 0 || maxParamsSize > 0;
+	}
+
+	/**
+	 * @return a copy of the profile which doesn't log bodies
+	 */
+	@Nonnull
+	public LoggingProfile withoutBody() {
+		return logBody ? new LoggingProfile(this, false) : this;
+	}
+
+	public static class Builder {
+		private LogLevel logLevel;
+		private boolean logHeaders = true;
+		private boolean logCookies = true;
+		private boolean logBody = true;
+		private int maxBodySize = -1;
+		private int maxParams = -1;
+		private int maxParamValueLength = -1;
+		private int maxParamsSize = -1;
+
+		public Builder logLevel(@Nullable LogLevel logLevel) {
+			this.logLevel = logLevel;
+			return this;
+		}
+
+		public Builder logHeaders(boolean logHeaders) {
+			this.logHeaders = logHeaders;
+			return this;
+		}
+
+		public Builder logCookies(boolean logCookies) {
+			this.logCookies = logCookies;
+			return this;
+		}
+
+		public Builder logBody(boolean logBody) {
+			this.logBody = logBody;
+			return this;
+		}
+
+		public Builder maxBodySize(int maxBodySize) {
+			this.maxBodySize = maxBodySize;
+			return this;
+		}
+
+		public Builder maxParams(int maxParams) {
+			this.maxParams = maxParams;
+			return this;
+		}
+
+		public Builder maxParamValueLength(int maxParamValueLength) {
+			this.maxParamValueLength = maxParamValueLength;
+			return this;
+		}
+
+		public Builder maxParamsSize(int maxParamsSize) {
+			this.maxParamsSize = maxParamsSize;
+			return this;
+		}
+
+		@Nonnull
+		public LoggingProfile build() {
+			return new LoggingProfile(this);
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends spans to a file in OTLP JSON format, one {@code ExportTraceServiceRequest} per line, as the OpenTelemetry file exporter does.
+ * Such files can be loaded by an OpenTelemetry Collector {@code otlpjsonfile} receiver or by tracing tools directly.
+ */
+public class OtlpJsonFileSpanExporter implements SpanExporter {
+
+	public static final String DEFAULT_SERVICE_NAME = "rest-assured-tests";
+	public static final String SCOPE_NAME = "com.epam.reportportal.restassured";
+
+	private static final int SPAN_KIND_CLIENT = 3;
+	private static final int STATUS_CODE_ERROR = 2;
+
+	private final Path file;
+	private final String serviceName;
+
+	/**
+	 * @param file        file to append spans to, created if absent
+	 * @param serviceName {@code service.name} resource attribute
+	 */
+	public OtlpJsonFileSpanExporter(@Nonnull Path file, @Nonnull String serviceName) {
+		this.file = file;
+		this.serviceName = serviceName;
+	}
+
+	public OtlpJsonFileSpanExporter(@Nonnull Path file) {
+		this(file, DEFAULT_SERVICE_NAME);
+	}
+
+	@Nonnull
+	private static Map<String, Object> attribute(@Nonnull String key, @Nonnull String type, @Nullable Object value) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("key", key);
+		result.put("value", Collections.singletonMap(type, value));
+		return result;
+	}
+
+	@Nonnull
+	private static Map<String, Object> toOtlp(@Nonnull ExchangeSpan span) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("traceId", span.getTraceId());
+		result.put("spanId", span.getSpanId());
+		if (span.getParentSpanId() != null) {
+			result.put("parentSpanId", span.getParentSpanId());
+		}
+		result.put("name", span.getName());
+		result.put("kind", SPAN_KIND_CLIENT);
+		// 64-bit integers are strings in OTLP JSON
+		result.put("startTimeUnixNano", String.valueOf(span.getStartEpochNanos()));
+		result.put("endTimeUnixNano", String.valueOf(span.getEndEpochNanos()));
+		List<Object> attributes = new ArrayList<>();
+		if (span.getMethod() != null) {
+			attributes.add(attribute("http.request.method", "stringValue", span.getMethod()));
+		}
+		if (span.getUri() != null) {
+			attributes.add(attribute("url.full", "stringValue", span.getUri()));
+		}
+		if (span.getStatusCode() > 0) {
+			attributes.add(attribute("http.response.status_code", "intValue", String.valueOf(span.getStatusCode())));
+		}
+		attributes.add(attribute("http.request.body.size", "intValue", String.valueOf(span.getRequestBytes())));
+		attributes.add(attribute("http.response.body.size", "intValue", String.valueOf(span.getResponseBytes())));
+		GraphQlOperation operation = span.getGraphQlOperation();
+		if (operation != null) {
+			attributes.add(attribute("graphql.operation.type", "stringValue", operation.getType()));
+			if (operation.getName() != null) {
+				attributes.add(attribute("graphql.operation.name", "stringValue", operation.getName()));
+			}
+		}
+		if (span.getError() != null) {
+			attributes.add(attribute("error.type", "stringValue", span.getError()));
+		}
+		result.put("attributes", attributes);
+		if (span.isError()) {
+			result.put("status", Collections.singletonMap("code", STATUS_CODE_ERROR));
+		}
+		return result;
+	}
+
+	@Nonnull
+	String toJson(@Nonnull List<ExchangeSpan> spans) {
+		List<Object> otlpSpans = new ArrayList<>(spans.size());
+		for (ExchangeSpan span : spans) {
+			otlpSpans.add(toOtlp(span));
+		}
+		Map<String, Object> scopeSpans = new LinkedHashMap<>();
+		scopeSpans.put("scope", Collections.singletonMap("name", SCOPE_NAME));
+		scopeSpans.put("spans", otlpSpans);
+		Map<String, Object> resourceSpans = new LinkedHashMap<>();
+		resourceSpans.put(
+				"resource",
+				Collections.singletonMap("attributes", Collections.singletonList(attribute("service.name", "stringValue", serviceName)))
+		);
+		resourceSpans.put("scopeSpans", Collections.singletonList(scopeSpans));
+		return JsonParser.write(Collections.singletonMap("resourceSpans", Collections.singletonList(resourceSpans)), 0);
+	}
+
+	@Override
+	public synchronized void export(@Nonnull List<ExchangeSpan> spans) throws IOException {
+		if (spans.isEmpty()) {
+			return;
+		}
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+			writer.write(toJson(spans));
+			writer.write('\n');
+		}
+	}
+
+	@Nonnull
+	public Path getFile() {
+		return file;
+	}
+}
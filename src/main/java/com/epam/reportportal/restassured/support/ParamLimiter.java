@@ -0,0 +1,167 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Applies {@link LoggingProfile} form and query parameter limits before parameters are converted to strings: only the first parameters
+ * within the count and total size limits are kept, long values are cut, and the number of left out parameters is logged instead of
+ * them. Iteration stops at the first left out parameter, so the cost doesn't depend on the form size. Form parameters are limited when
+ * {@link ExchangeSnapshot} captures the request, so left out ones are not copied, estimated or logged.
+ */
+public class ParamLimiter {
+
+	public static final String OMITTED_PARAMS_NAME = "...";
+	private static final String OMITTED_PARAMS = "[%d more parameters omitted]";
+	private static final String TRUNCATED_VALUE_TAIL = "...[%d characters total]";
+
+	private ParamLimiter() {
+		throw new IllegalStateException("Static only class");
+	}
+
+	private static int limit(int value) {
+		return value > 0 ? value : Integer.MAX_VALUE;
+	}
+
+	@Nullable
+	private static String truncate(@Nullable String value, int maxLength) {
+		if (value == null || value.length() <= maxLength) {
+			return value;
+		}
+		return value.substring(0, maxLength) + String.format(TRUNCATED_VALUE_TAIL, value.length());
+	}
+
+	private static int length(@Nullable String value) {
+		return value == null ? 0 : value.length();
+	}
+
+	/**
+	 * Limit form parameters.
+	 *
+	 * @param params  form parameters
+	 * @param profile logging profile with the limits
+	 * @return the same map if there are no limits, otherwise a new map with kept parameters and, if some are left out, a
+	 * {@link #OMITTED_PARAMS_NAME} parameter with their number
+	 */
+	@Nullable
+	public static Map<String, String> limitParams(@Nullable Map<String, String> params, @Nonnull LoggingProfile profile) {
+		if (params == null || params.isEmpty() || !profile.isParamsLimited()) {
+			return params;
+		}
+		int maxParams = limit(profile.getMaxParams());
+		int maxValueLength = limit(profile.getMaxParamValueLength());
+		int maxSize = limit(profile.getMaxParamsSize());
+		Map<String, String> result = new LinkedHashMap<>();
+		long size = 0;
+		for (Map.Entry<String, String> param : params.entrySet()) {
+			if (result.size() >= maxParams) {
+				break;
+			}
+			String value = truncate(param.getValue(), maxValueLength);
+			int paramSize = length(param.getKey()) + length(value);
+			if (size + paramSize > maxSize) {
+				break;
+			}
+			size += paramSize;
+			result.put(param.getKey(), value);
+		}
+		int omitted = params.size() - result.size();
+		if (omitted > 0) {
+			result.put(OMITTED_PARAMS_NAME, String.format(OMITTED_PARAMS, omitted));
+		}
+		return result;
+	}
+
+	/**
+	 * Limit query string parameters of a URI.
+	 *
+	 * @param uri     request URI
+	 * @param profile logging profile with the limits
+	 * @return the same URI if there are no limits or nothing to cut, otherwise the URI with kept parameters and the number of left out
+	 * ones
+	 */
+	@Nullable
+	public static String limitQuery(@Nullable String uri, @Nonnull LoggingProfile profile) {
+		if (uri == null || !profile.isParamsLimited()) {
+			return uri;
+		}
+		int queryStart = uri.indexOf('?');
+		if (queryStart < 0) {
+			return uri;
+		}
+		int fragmentStart = uri.indexOf('#', queryStart);
+		int queryEnd = fragmentStart < 0 ? uri.length() : fragmentStart;
+		int maxParams = limit(profile.getMaxParams());
+		int maxValueLength = limit(profile.getMaxParamValueLength());
+		int maxSize = limit(profile.getMaxParamsSize());
+
+		StringBuilder result = new StringBuilder();
+		result.append(uri, 0, queryStart + 1);
+		boolean changed = false;
+		int count = 0;
+		long size = 0;
+		int position = queryStart + 1;
+		while (position < queryEnd && count < maxParams) {
+			int paramEnd = uri.indexOf('&', position);
+			if (paramEnd < 0 || paramEnd > queryEnd) {
+				paramEnd = queryEnd;
+			}
+			int valueStart = uri.indexOf('=', position);
+			String param;
+			if (valueStart >= 0 && valueStart < paramEnd) {
+				String value = uri.substring(valueStart + 1, paramEnd);
+				changed |= value.length() > maxValueLength;
+				param = uri.substring(position, valueStart + 1) + truncate(value, maxValueLength);
+			} else {
+				param = uri.substring(position, paramEnd);
+			}
+			if (size + param.length() > maxSize) {
+				break;
+			}
+			if (count > 0) {
+				result.append('&');
+			}
+			result.append(param);
+			size += param.length();
+			count++;
+			position = paramEnd + 1;
+		}
+		if (position < queryEnd) {
+			int omitted = 1;
+			for (int i = position; i < queryEnd; i++) {
+				if (uri.charAt(i) == '&') {
+					omitted++;
+				}
+			}
+			if (count > 0) {
+				result.append('&');
+			}
+			result.append(OMITTED_PARAMS_NAME).append(String.format(OMITTED_PARAMS, omitted));
+		} else if (!changed) {
+			return uri;
+		}
+		if (fragmentStart >= 0) {
+			result.append(uri, fragmentStart, uri.length());
+		}
+		return result.toString();
+	}
+}
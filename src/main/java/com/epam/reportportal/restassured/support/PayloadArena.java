@@ -0,0 +1,228 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of direct {@link ByteBuffer}s for payloads which are held off-heap for a long time. The logger uses it only for image originals
+ * retained by {@link ImageReducer} until the test result is known, other payloads are short-lived and stay on the heap.
+ * <p>
+ * Buffers are size-classed by powers of two, starting from 4 KiB, and returned to the pool on {@link Payload#release()}. The cap is a
+ * soft one: it limits the total size of buffers held by the arena, both used and pooled. To make room, pooled buffers of other size
+ * classes are dropped, and if that's not enough, the payload is truncated to the largest size class which still fits. Dropped buffers are
+ * not counted any more, but their memory is freed only when the garbage collector gets to them, so until then the direct memory in use may
+ * exceed the cap.
+ */
+public class PayloadArena {
+
+	private static final int MIN_CLASS_SHIFT = 12;
+	private static final int MAX_CLASS_SHIFT = 30;
+
+	/**
+	 * Payload stored in the arena. Must be released once it's sent or no longer needed.
+	 */
+	public static class Payload {
+		private final PayloadArena arena;
+		private final ByteBuffer buffer;
+		private final int classShift;
+		private final int length;
+		private final int originalLength;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Payload(@Nonnull PayloadArena arena, @Nonnull ByteBuffer buffer, int classShift, int length, int originalLength) {
+			this.arena = arena;
+			this.buffer = buffer;
+			this.classShift = classShift;
+			this.length = length;
+			this.originalLength = originalLength;
+		}
+
+		/**
+		 * @return number of stored bytes
+		 */
+		public int getLength() {
+			return length;
+		}
+
+		/**
+		 * @return number of bytes of the original data
+		 */
+		public int getOriginalLength() {
+			return originalLength;
+		}
+
+		/**
+		 * @return {@code true} if the arena had no room for the whole data and only its beginning was stored
+		 */
+		public boolean isTruncated() {
+			return length < originalLength;
+		}
+
+		/**
+		 * Copy the stored bytes to the heap, E.G. to send them.
+		 *
+		 * @return stored bytes
+		 */
+		@Nonnull
+		public byte[] toByteArray() {
+			if (released.get()) {
+				throw new IllegalStateException("Payload is already released");
+			}
+			byte[] result = new byte[length];
+			ByteBuffer view = buffer.duplicate();
+			view.clear();
+			view.get(result, 0, length);
+			return result;
+		}
+
+		/**
+		 * Return the buffer to the arena, repeated calls do nothing.
+		 */
+		public void release() {
+			if (released.compareAndSet(false, true)) {
+				arena.release(buffer, classShift);
+			}
+		}
+	}
+
+	private final long maxBytes;
+	private final AtomicLong allocatedBytes = new AtomicLong();
+	private final AtomicLong usedBytes = new AtomicLong();
+	private final AtomicLong truncatedPayloads = new AtomicLong();
+	private final Deque<ByteBuffer>[] freeBuffers;
+
+	/**
+	 * @param maxBytes soft cap of total size of buffers held by the arena
+	 */
+	@SuppressWarnings("unchecked")
+	public PayloadArena(long maxBytes) {
+		if (maxBytes < (1L << MIN_CLASS_SHIFT)) {
+			throw new IllegalArgumentException("Arena size should be at least " + (1L << MIN_CLASS_SHIFT) + " bytes");
+		}
+		this.maxBytes = maxBytes;
+		freeBuffers = new Deque[MAX_CLASS_SHIFT - MIN_CLASS_SHIFT + 1];
+		for (int i = 0; i < freeBuffers.length; i++) {
+			freeBuffers[i] = new ConcurrentLinkedDeque<>();
+		}
+	}
+
+	static int classShift(int size) {
+		return Math.max(MIN_CLASS_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(1, size) - 1));
+	}
+
+	private boolean reserve(long capacity) {
+		long allocated;
+		do {
+			allocated = allocatedBytes.get();
+			if (allocated + capacity > maxBytes) {
+				return false;
+			}
+		} while (!allocatedBytes.compareAndSet(allocated, allocated + capacity));
+		return true;
+	}
+
+	private boolean dropFreeBuffers(int keepShift, long capacity) {
+		for (int shift = MAX_CLASS_SHIFT; shift >= MIN_CLASS_SHIFT; shift--) {
+			if (shift == keepShift) {
+				continue;
+			}
+			Deque<ByteBuffer> buffers = freeBuffers[shift - MIN_CLASS_SHIFT];
+			while (allocatedBytes.get() + capacity > maxBytes && buffers.pollFirst() != null) {
+				allocatedBytes.addAndGet(-(1L << shift));
+			}
+		}
+		return reserve(capacity);
+	}
+
+	@Nullable
+	private ByteBuffer acquire(int shift) {
+		long capacity = 1L << shift;
+		ByteBuffer buffer = freeBuffers[shift - MIN_CLASS_SHIFT].pollFirst();
+		if (buffer == null) {
+			if (!reserve(capacity) && !dropFreeBuffers(shift, capacity)) {
+				return null;
+			}
+			buffer = ByteBuffer.allocateDirect((int) capacity);
+		}
+		usedBytes.addAndGet(capacity);
+		return buffer;
+	}
+
+	private void release(@Nonnull ByteBuffer buffer, int shift) {
+		usedBytes.addAndGet(-(1L << shift));
+		freeBuffers[shift - MIN_CLASS_SHIFT].addFirst(buffer);
+	}
+
+	/**
+	 * Copy data into the arena.
+	 *
+	 * @param data data to store
+	 * @return stored payload, possibly truncated, or {@code null} if the arena is exhausted
+	 */
+	@Nullable
+	public Payload store(@Nonnull byte[] data) {
+		int shift = Math.min(classShift(data.length), MAX_CLASS_SHIFT);
+		ByteBuffer buffer = acquire(shift);
+		while (buffer == null && shift > MIN_CLASS_SHIFT) {
+			shift--;
+			buffer = acquire(shift);
+		}
+		if (buffer == null) {
+			return null;
+		}
+		int length = (int) Math.min(data.length, 1L << shift);
+		if (length < data.length) {
+			truncatedPayloads.incrementAndGet();
+		}
+		buffer.clear();
+		buffer.put(data, 0, length);
+		return new Payload(this, buffer, shift, length, data.length);
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * @return total size of buffers held by the arena, both used and pooled, dropped buffers which are not freed yet are not counted
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes.get();
+	}
+
+	/**
+	 * @return total size of buffers which hold not released payloads
+	 */
+	public long getUsedBytes() {
+		return usedBytes.get();
+	}
+
+	/**
+	 * @return number of payloads which were truncated since the arena was exhausted
+	 */
+	public long getTruncatedPayloads() {
+		return truncatedPayloads.get();
+	}
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import com.epam.reportportal.formatting.http.entities.Header;
+import io.restassured.specification.FilterableRequestSpecification;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.HttpClient;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.http.util.EntityUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.epam.reportportal.formatting.http.Constants.REMOVED_TAG;
+import static java.util.Optional.ofNullable;
+
+/**
+ * Hops of a single REST Assured request which were followed by the HTTP client. Redirects never reach REST Assured filters, so they are
+ * recorded by a response interceptor, which {@link #install} adds to the client the request is sent with. The client is created by
+ * the request's {@link io.restassured.config.HttpClientConfig} before filters are called, so setting another client factory in a
+ * filter has no effect.
+ * <p>
+ * The chain is formatted as compact deltas: status line and location of every redirect response, then method and URI of the request it
+ * leads to with headers changed since the previous hop. Bodies which already appeared in the chain are referenced by hop number. The last
+ * response of the chain is the one REST Assured returns, so it's logged by the filter as usual and is not a part of the deltas.
+ */
+public class RedirectChain implements AutoCloseable {
+
+	/**
+	 * Maximum size of a redirect response body which is buffered to log it. Bodies of unknown or bigger size are left to the client.
+	 */
+	public static final int MAX_BODY_SIZE = 8 * 1024;
+
+	private static final int MAX_BODY_CHARS = 1024;
+	private static final String CHAIN_TAG = "**REDIRECTS (%d)**";
+	private static final String RESPONSE_TAG = "\n\n**<<< RESPONSE (hop %d)**\n%s";
+	private static final String REQUEST_TAG = "\n\n**>>> REQUEST (hop %d)**\n%s to %s";
+
+	private static final ThreadLocal<RedirectChain> CURRENT = new ThreadLocal<>();
+
+	private static final HttpResponseInterceptor INTERCEPTOR = (response, context) -> {
+		RedirectChain chain = CURRENT.get();
+		if (chain != null) {
+			HttpRequest request = (HttpRequest) context.getAttribute(HttpCoreContext.HTTP_REQUEST);
+			HttpHost target = (HttpHost) context.getAttribute(HttpCoreContext.HTTP_TARGET_HOST);
+			byte[] body = null;
+			HttpEntity entity = response.getEntity();
+			if (isRedirect(response.getStatusLine().getStatusCode()) && entity != null && entity.getContentLength() >= 0
+					&& entity.getContentLength() <= MAX_BODY_SIZE) {
+				BufferedHttpEntity buffered = new BufferedHttpEntity(entity);
+				response.setEntity(buffered);
+				body = EntityUtils.toByteArray(buffered);
+			}
+			chain.hops.add(new Hop(request, target, response, body));
+		}
+	};
+
+	private final Set<String> blacklistedHeaders;
+	private final RedirectChain previous;
+	private final List<Hop> hops = new ArrayList<>(2);
+
+	private static final class Hop {
+		private final String method;
+		private final String uri;
+		private final org.apache.http.Header[] requestHeaders;
+		private final boolean requestBody;
+		private final String statusLine;
+		private final org.apache.http.Header[] responseHeaders;
+		private final String contentType;
+		private final byte[] body;
+
+		private Hop(@Nullable HttpRequest request, @Nullable HttpHost target, @Nonnull HttpResponse response, @Nullable byte[] body) {
+			String requestUri = request == null ? null : request.getRequestLine().getUri();
+			method = request == null ? null : request.getRequestLine().getMethod();
+			uri = target != null && requestUri != null && requestUri.startsWith("/") ? target.toURI() + requestUri : requestUri;
+			requestHeaders = request == null ? new org.apache.http.Header[0] : request.getAllHeaders();
+			requestBody = request instanceof HttpEntityEnclosingRequest && ((HttpEntityEnclosingRequest) request).getEntity() != null;
+			statusLine = response.getStatusLine().toString();
+			responseHeaders = response.getAllHeaders();
+			contentType = ofNullable(response.getEntity()).map(HttpEntity::getContentType).map(org.apache.http.Header::getValue).orElse(null);
+			this.body = body;
+		}
+	}
+
+	private RedirectChain(@Nullable Set<String> blacklistedHeaders, @Nullable RedirectChain previous) {
+		this.blacklistedHeaders = blacklistedHeaders;
+		this.previous = previous;
+	}
+
+	private static boolean isRedirect(int statusCode) {
+		return statusCode >= 300 && statusCode < 400;
+	}
+
+	private static void intercept(@Nullable HttpClient client) {
+		if (!(client instanceof AbstractHttpClient)) {
+			return;
+		}
+		AbstractHttpClient httpClient = (AbstractHttpClient) client;
+		// Reused client instances already have the interceptor
+		for (int i = 0; i < httpClient.getResponseInterceptorCount(); i++) {
+			if (httpClient.getResponseInterceptor(i) == INTERCEPTOR) {
+				return;
+			}
+		}
+		httpClient.addResponseInterceptor(INTERCEPTOR);
+	}
+
+	/**
+	 * Make the HTTP client of the request record its hops and start recording them on the calling thread. Hops of clients which are not
+	 * {@link AbstractHttpClient} are not recorded. The chain should be closed once the request is sent.
+	 *
+	 * @param requestSpec        REST Assured request
+	 * @param blacklistedHeaders names of headers which values should not be logged
+	 * @return the chain of the request
+	 */
+	@Nonnull
+	public static RedirectChain install(@Nonnull FilterableRequestSpecification requestSpec, @Nullable Set<String> blacklistedHeaders) {
+		intercept(requestSpec.getHttpClient());
+		RedirectChain chain = new RedirectChain(blacklistedHeaders, CURRENT.get());
+		CURRENT.set(chain);
+		return chain;
+	}
+
+	/**
+	 * Stop recording hops on the calling thread. Recorded hops are kept.
+	 */
+	@Override
+	public void close() {
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+		}
+	}
+
+	/**
+	 * @return number of redirects followed by the HTTP client
+	 */
+	public int getRedirectCount() {
+		return Math.max(hops.size() - 1, 0);
+	}
+
+	@Nonnull
+	private Map<String, String> toHeaderMap(@Nonnull org.apache.http.Header[] headers) {
+		if (headers.length == 0) {
+			return Collections.emptyMap();
+		}
+		Map<String, String> result = new LinkedHashMap<>();
+		for (org.apache.http.Header header : headers) {
+			String value = blacklistedHeaders != null && blacklistedHeaders.contains(header.getName()) ?
+					REMOVED_TAG :
+					ofNullable(header.getValue()).orElse("");
+			result.merge(header.getName(), value, (a, b) -> a + ", " + b);
+		}
+		return result;
+	}
+
+	private static void appendHeaderDelta(@Nonnull StringBuilder builder, @Nonnull Map<String, String> previous,
+			@Nonnull Map<String, String> current, @Nonnull Function<Header, String> headerConverter) {
+		StringBuilder changed = new StringBuilder();
+		current.forEach((name, value) -> {
+			if (!HttpHeaders.LOCATION.equalsIgnoreCase(name) && !value.equals(previous.get(name))) {
+				changed.append('\n').append(headerConverter.apply(new Header(name, value)));
+			}
+		});
+		if (changed.length() > 0) {
+			builder.append("\n\n**Changed headers**").append(changed);
+		}
+		StringBuilder removed = new StringBuilder();
+		previous.keySet().stream().filter(name -> !current.containsKey(name)).forEach(name -> removed.append('\n').append(name));
+		if (removed.length() > 0) {
+			builder.append("\n\n**Removed headers**").append(removed);
+		}
+	}
+
+	private void appendBody(@Nonnull StringBuilder builder, int hop) {
+		byte[] body = hops.get(hop).body;
+		if (body == null || body.length == 0) {
+			return;
+		}
+		builder.append("\n\n**Body**\n");
+		for (int i = 0; i < hop; i++) {
+			if (Arrays.equals(hops.get(i).body, body)) {
+				builder.append("Same as hop ").append(i + 1);
+				return;
+			}
+		}
+		Hop current = hops.get(hop);
+		builder.append("```\n")
+				.append(TextDecoder.decode(body, TextDecoder.getContentTypeCharset(current.contentType), MAX_BODY_CHARS))
+				.append("\n```");
+	}
+
+	/**
+	 * Format redirects of the chain as compact deltas.
+	 *
+	 * @param headerConverter header converter to format changed headers or {@code null} to skip headers
+	 * @param logBody         whether redirect response bodies should be logged
+	 * @return formatted redirects or {@code null} if the HTTP client followed no redirects
+	 */
+	@Nullable
+	public String format(@Nullable Function<Header, String> headerConverter, boolean logBody) {
+		int redirects = getRedirectCount();
+		if (redirects == 0) {
+			return null;
+		}
+		StringBuilder result = new StringBuilder(String.format(CHAIN_TAG, redirects));
+		Map<String, String> previousResponseHeaders = null;
+		Map<String, String> previousRequestHeaders = headerConverter == null ? null : toHeaderMap(hops.get(0).requestHeaders);
+		for (int i = 0; i < redirects; i++) {
+			Hop hop = hops.get(i);
+			result.append(String.format(RESPONSE_TAG, i + 1, hop.statusLine));
+			Map<String, String> responseHeaders = toHeaderMap(hop.responseHeaders);
+			ofNullable(responseHeaders.get(HttpHeaders.LOCATION)).ifPresent(l -> result.append('\n').append(HttpHeaders.LOCATION)
+					.append(": ")
+					.append(l));
+			// Headers of the first redirect response are not compared to anything, only its status and location are logged
+			if (headerConverter != null && previousResponseHeaders != null) {
+				appendHeaderDelta(result, previousResponseHeaders, responseHeaders, headerConverter);
+			}
+			previousResponseHeaders = responseHeaders;
+			if (logBody) {
+				appendBody(result, i);
+			}
+
+			Hop next = hops.get(i + 1);
+			result.append(String.format(REQUEST_TAG, i + 2, next.method, next.uri));
+			if (headerConverter != null) {
+				Map<String, String> requestHeaders = toHeaderMap(next.requestHeaders);
+				appendHeaderDelta(result, previousRequestHeaders, requestHeaders, headerConverter);
+				previousRequestHeaders = requestHeaders;
+			}
+			if (logBody && next.requestBody) {
+				// The HTTP client sends the entity of the original request again
+				result.append("\n\n**Body**\nSame as hop 1");
+			}
+		}
+		return result.toString();
+	}
+}
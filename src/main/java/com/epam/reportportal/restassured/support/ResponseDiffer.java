@@ -0,0 +1,387 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * Logs JSON responses of an endpoint as compact structural diffs to the last response of the same endpoint which was logged in full.
+ * <p>
+ * Endpoints are identified by method and URI template, see {@link ExchangeStatistics#normalizeUri(String)}. Base responses are kept
+ * per scope, usually a test item, so a diff never refers to a response logged in another test, and the last full response of the
+ * {@code maxEndpoints} most recently used endpoints of a scope is kept. A response is logged in full if it's the first one of the
+ * endpoint in the scope, its status differs from the base response, it's not JSON, or the diff has more than {@code maxChanges} changes;
+ * such response becomes the new base. Parsed bodies of diffed responses of the calling thread are retained, so they can be logged in full
+ * if the test fails; their unchanged parts are shared with the base response.
+ */
+public class ResponseDiffer {
+
+	public static final int DEFAULT_MAX_ENDPOINTS = 256;
+	public static final int DEFAULT_MAX_CHANGES = 20;
+	public static final int DEFAULT_MAX_BODY_SIZE = 1024 * 1024;
+	public static final int DEFAULT_MAX_RETAINED = 16;
+
+	private static final String DIFF_TAG = "Diff to the last full response of %s, sha256: %s";
+	private static final String BODY_HASH = "\nBody sha256: %s";
+	private static final String NO_CHANGES = "\nNo changes";
+	private static final int MAX_VALUE_LENGTH = 80;
+	private static final int HASH_LENGTH = 16;
+	private static final Object NO_SCOPE = new Object();
+
+	private static class Base {
+		private final int statusCode;
+		private final String hash;
+		private final Object tree;
+
+		private Base(int statusCode, @Nonnull String hash, @Nullable Object tree) {
+			this.statusCode = statusCode;
+			this.hash = hash;
+			this.tree = tree;
+		}
+	}
+
+	/**
+	 * A response which was logged as a diff: its status line and parsed body.
+	 */
+	public static class DiffedResponse {
+		private final String method;
+		private final String uri;
+		private final String statusLine;
+		private final String contentType;
+		private final Object body;
+
+		private DiffedResponse(@Nonnull ExchangeSnapshot exchange, @Nullable Object body) {
+			method = exchange.getMethod();
+			uri = exchange.getUri();
+			statusLine = exchange.getStatusLine();
+			contentType = exchange.getResponseContentType();
+			this.body = body;
+		}
+
+		@Nullable
+		public String getMethod() {
+			return method;
+		}
+
+		@Nullable
+		public String getUri() {
+			return uri;
+		}
+
+		@Nullable
+		public String getStatusLine() {
+			return statusLine;
+		}
+
+		@Nullable
+		public String getContentType() {
+			return contentType;
+		}
+
+		/**
+		 * @return compact JSON text of the response body
+		 */
+		@Nonnull
+		public String getBody() {
+			return JsonParser.write(body, 0);
+		}
+	}
+
+	// Scopes are weak keys, so bases of finished test items are dropped along with the items
+	private final Map<Object, Map<String, Base>> bases = Collections.synchronizedMap(new WeakHashMap<>());
+	private final int maxEndpoints;
+	private final int maxChanges;
+	private final int maxBodySize;
+	private final int maxRetained;
+	private final ThreadLocal<Deque<DiffedResponse>> retained = ThreadLocal.withInitial(ArrayDeque::new);
+
+	private ResponseDiffer(@Nonnull Builder builder) {
+		maxEndpoints = builder.maxEndpoints;
+		maxChanges = builder.maxChanges;
+		maxBodySize = builder.maxBodySize;
+		maxRetained = builder.maxRetained;
+	}
+
+	@Nonnull
+	private static String shortHash(@Nonnull byte[] body) {
+		return DigestUtils.sha256Hex(body).substring(0, HASH_LENGTH);
+	}
+
+	@Nonnull
+	private Map<String, Base> getBases(@Nullable Object scope) {
+		return bases.computeIfAbsent(scope == null ? NO_SCOPE : scope,
+				k -> Collections.synchronizedMap(new LinkedHashMap<String, Base>(16, 0.75f, true) {
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<String, Base> eldest) {
+						return size() > maxEndpoints;
+					}
+				})
+		);
+	}
+
+	/**
+	 * JSON numbers are equal if they have the same value, so {@code 1.0} equals {@code 1}.
+	 */
+	private static boolean valueEquals(@Nullable Object base, @Nullable Object current) {
+		if (base instanceof BigDecimal && current instanceof BigDecimal) {
+			return ((BigDecimal) base).compareTo((BigDecimal) current) == 0;
+		}
+		return Objects.equals(base, current);
+	}
+
+	@Nonnull
+	private static String child(@Nonnull String path, @Nonnull String key) {
+		boolean simple = !key.isEmpty();
+		for (int i = 0; i < key.length() && simple; i++) {
+			char c = key.charAt(i);
+			simple = Character.isLetterOrDigit(c) || c == '_' || c == '-';
+		}
+		return simple ? path + '.' + key : path + "[" + JsonParser.write(key, 0) + "]";
+	}
+
+	/**
+	 * Unchanged values of the current tree are replaced with the same values of the base tree, so a retained tree holds only changes.
+	 *
+	 * @return {@code false} if the number of changes exceeded the limit
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean diff(@Nonnull String path, @Nullable Object base, @Nullable Object current, @Nonnull List<String> changes) {
+		if (base instanceof Map && current instanceof Map) {
+			Map<?, ?> baseMap = (Map<?, ?>) base;
+			Map<Object, Object> currentMap = (Map<Object, Object>) current;
+			for (Map.Entry<?, ?> entry : baseMap.entrySet()) {
+				String key = String.valueOf(entry.getKey());
+				int before = changes.size();
+				if (!currentMap.containsKey(key)) {
+					changes.add("- " + child(path, key));
+				} else if (!diff(child(path, key), entry.getValue(), currentMap.get(key), changes)) {
+					return false;
+				} else if (changes.size() == before) {
+					currentMap.put(key, entry.getValue());
+				}
+				if (changes.size() > maxChanges) {
+					return false;
+				}
+			}
+			for (Map.Entry<?, ?> entry : currentMap.entrySet()) {
+				String key = String.valueOf(entry.getKey());
+				if (!baseMap.containsKey(key)) {
+					changes.add("+ " + child(path, key) + ": " + JsonParser.write(entry.getValue(), MAX_VALUE_LENGTH));
+					if (changes.size() > maxChanges) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+		if (base instanceof List && current instanceof List) {
+			List<?> baseList = (List<?>) base;
+			List<Object> currentList = (List<Object>) current;
+			int common = Math.min(baseList.size(), currentList.size());
+			for (int i = 0; i < common; i++) {
+				int before = changes.size();
+				if (!diff(path + "[" + i + "]", baseList.get(i), currentList.get(i), changes)) {
+					return false;
+				}
+				if (changes.size() == before) {
+					currentList.set(i, baseList.get(i));
+				}
+			}
+			for (int i = common; i < baseList.size() && changes.size() <= maxChanges; i++) {
+				changes.add("- " + path + "[" + i + "]");
+			}
+			for (int i = common; i < currentList.size() && changes.size() <= maxChanges; i++) {
+				changes.add("+ " + path + "[" + i + "]: " + JsonParser.write(currentList.get(i), MAX_VALUE_LENGTH));
+			}
+			return changes.size() <= maxChanges;
+		}
+		if (!valueEquals(base, current)) {
+			String from = JsonParser.write(base, MAX_VALUE_LENGTH);
+			String to = JsonParser.write(current, MAX_VALUE_LENGTH);
+			changes.add("~ " + path + ": " + from + " -> " + to);
+		}
+		return changes.size() <= maxChanges;
+	}
+
+	private void retain(@Nonnull ExchangeSnapshot exchange, @Nullable Object body) {
+		if (maxRetained <= 0) {
+			return;
+		}
+		Deque<DiffedResponse> responses = retained.get();
+		responses.addLast(new DiffedResponse(exchange, body));
+		while (responses.size() > maxRetained) {
+			responses.pollFirst();
+		}
+	}
+
+	/**
+	 * Format a response as a diff to the base response of its endpoint, or make it the new base. Base responses are shared by all
+	 * exchanges which are diffed without a scope.
+	 *
+	 * @param exchange captured exchange with response
+	 * @return body diff text, to log in place of the response body, or {@code null} if the response should be logged in full
+	 */
+	@Nullable
+	public String diff(@Nonnull ExchangeSnapshot exchange) {
+		return diff(exchange, null);
+	}
+
+	/**
+	 * Format a response as a diff to the base response of its endpoint in the scope, or make it the new base of the scope.
+	 *
+	 * @param exchange captured exchange with response
+	 * @param scope    scope of base responses, compared by identity, usually the current test item; {@code null} for no scope
+	 * @return body diff text, to log in place of the response body, or {@code null} if the response should be logged in full
+	 */
+	@Nullable
+	public String diff(@Nonnull ExchangeSnapshot exchange, @Nullable Object scope) {
+		if (!exchange.hasResponse() || !TextDecoder.isJson(exchange.getResponseContentType())) {
+			return null;
+		}
+		byte[] body = exchange.getResponseBodyBytes();
+		if (body == null || body.length == 0 || body.length > maxBodySize) {
+			return null;
+		}
+		String endpoint = exchange.getMethod() + " " + ExchangeStatistics.normalizeUri(exchange.getUri());
+		String hash = shortHash(body);
+		Map<String, Base> scopeBases = getBases(scope);
+		Base base = scopeBases.get(endpoint);
+		if (base != null && base.tree != null && base.statusCode == exchange.getStatusCode() && base.hash.equals(hash)) {
+			retain(exchange, base.tree);
+			return String.format(DIFF_TAG, endpoint, base.hash) + NO_CHANGES;
+		}
+		Object tree = JsonParser.parseOrNull(new String(body, TextDecoder.getContentTypeCharset(exchange.getResponseContentType())));
+		List<String> changes = new ArrayList<>();
+		boolean comparable = tree != null && base != null && base.tree != null && base.statusCode == exchange.getStatusCode();
+		if (!comparable || !diff("$", base.tree, tree, changes)) {
+			scopeBases.put(endpoint, new Base(exchange.getStatusCode(), hash, tree));
+			return null;
+		}
+		retain(exchange, changes.isEmpty() ? base.tree : tree);
+		StringBuilder result = new StringBuilder(String.format(DIFF_TAG, endpoint, base.hash));
+		if (changes.isEmpty()) {
+			result.append(NO_CHANGES);
+		} else {
+			for (String change : changes) {
+				result.append('\n').append(change);
+			}
+		}
+		result.append(String.format(BODY_HASH, hash));
+		return result.toString();
+	}
+
+	/**
+	 * Return and forget responses of the calling thread which were logged as diffs.
+	 *
+	 * @return retained responses, the oldest first
+	 */
+	@Nonnull
+	public List<DiffedResponse> drainRetained() {
+		Deque<DiffedResponse> responses = retained.get();
+		List<DiffedResponse> result = new ArrayList<>(responses);
+		responses.clear();
+		return result;
+	}
+
+	/**
+	 * Forget responses of the calling thread which were logged as diffs.
+	 */
+	public void discardRetained() {
+		retained.get().clear();
+	}
+
+	/**
+	 * Forget base responses of all scopes, so the next response of every endpoint is logged in full.
+	 */
+	public void reset() {
+		bases.clear();
+	}
+
+	public static class Builder {
+		private int maxEndpoints = DEFAULT_MAX_ENDPOINTS;
+		private int maxChanges = DEFAULT_MAX_CHANGES;
+		private int maxBodySize = DEFAULT_MAX_BODY_SIZE;
+		private int maxRetained = DEFAULT_MAX_RETAINED;
+
+		/**
+		 * @param maxEndpoints number of endpoints to keep base responses for in a scope
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder maxEndpoints(int maxEndpoints) {
+			if (maxEndpoints <= 0) {
+				throw new IllegalArgumentException("Maximum number of endpoints should be positive");
+			}
+			this.maxEndpoints = maxEndpoints;
+			return this;
+		}
+
+		/**
+		 * @param maxChanges maximum number of changes in a diff, responses with more changes are logged in full
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder maxChanges(int maxChanges) {
+			if (maxChanges <= 0) {
+				throw new IllegalArgumentException("Maximum number of changes should be positive");
+			}
+			this.maxChanges = maxChanges;
+			return this;
+		}
+
+		/**
+		 * @param maxBodySize maximum body size in bytes to diff, larger bodies are logged as usual
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder maxBodySize(int maxBodySize) {
+			this.maxBodySize = maxBodySize;
+			return this;
+		}
+
+		/**
+		 * @param maxRetained maximum number of diffed responses retained per thread for logging in full on test failure
+		 * @return the builder instance
+		 */
+		@Nonnull
+		public Builder maxRetained(int maxRetained) {
+			if (maxRetained < 0) {
+				throw new IllegalArgumentException("Maximum number of retained responses should not be negative");
+			}
+			this.maxRetained = maxRetained;
+			return this;
+		}
+
+		@Nonnull
+		public ResponseDiffer build() {
+			return new ResponseDiffer(this);
+		}
+	}
+}
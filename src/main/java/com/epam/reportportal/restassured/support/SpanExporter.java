@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of exchange spans batched by {@link SpanRecorder}. Batches are exported one at a time.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+
+	/**
+	 * Export a batch of spans.
+	 *
+	 * @param spans finished spans
+	 * @throws IOException if the spans can't be written, such batch is dropped
+	 */
+	void export(@Nonnull List<ExchangeSpan> spans) throws IOException;
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers finished exchange spans and passes them to a {@link SpanExporter} in batches.
+ * <p>
+ * Full batches are exported by a background daemon thread, so test threads only add spans to the buffer. The buffer is bounded: if the
+ * exporter can't keep up, new spans are dropped and counted, so a slow or broken exporter never blocks tests or grows memory. Remaining
+ * spans are exported on {@link #flush()} or {@link #close()}, which should be called at the end of the launch.
+ */
+public class SpanRecorder implements AutoCloseable {
+
+	public static final int DEFAULT_BATCH_SIZE = 256;
+	private static final int MAX_BATCHES_BUFFERED = 8;
+
+	private final SpanExporter exporter;
+	private final int batchSize;
+	private final int maxBuffered;
+	private final Queue<ExchangeSpan> buffer = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger buffered = new AtomicInteger();
+	private final AtomicLong droppedSpans = new AtomicLong();
+	private final ReentrantLock exportLock = new ReentrantLock();
+	private final AtomicBoolean exportScheduled = new AtomicBoolean();
+	private final ExecutorService exportExecutor = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "rp-span-exporter");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * @param exporter  span destination
+	 * @param batchSize number of spans to export at once
+	 */
+	public SpanRecorder(@Nonnull SpanExporter exporter, int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size should be positive");
+		}
+		this.exporter = exporter;
+		this.batchSize = batchSize;
+		maxBuffered = batchSize * MAX_BATCHES_BUFFERED;
+	}
+
+	public SpanRecorder(@Nonnull SpanExporter exporter) {
+		this(exporter, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Buffer a finished span, schedule a background export if a batch is full.
+	 *
+	 * @param span finished span
+	 */
+	public void record(@Nonnull ExchangeSpan span) {
+		if (buffered.incrementAndGet() > maxBuffered) {
+			buffered.decrementAndGet();
+			droppedSpans.incrementAndGet();
+			return;
+		}
+		buffer.add(span);
+		if (buffered.get() >= batchSize && exportScheduled.compareAndSet(false, true)) {
+			try {
+				exportExecutor.execute(this::exportFullBatches);
+			} catch (RejectedExecutionException e) {
+				// The recorder is closed, the rest is exported on flush
+				exportScheduled.set(false);
+			}
+		}
+	}
+
+	private void exportFullBatches() {
+		// Spans recorded after the flag is reset schedule a new export
+		exportScheduled.set(false);
+		exportLock.lock();
+		try {
+			exportBatches(false);
+		} finally {
+			exportLock.unlock();
+		}
+	}
+
+	private void exportBatches(boolean all) {
+		while (all ? buffered.get() > 0 : buffered.get() >= batchSize) {
+			List<ExchangeSpan> batch = new ArrayList<>(batchSize);
+			ExchangeSpan span;
+			while (batch.size() < batchSize && (span = buffer.poll()) != null) {
+				batch.add(span);
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+			buffered.addAndGet(-batch.size());
+			try {
+				exporter.export(batch);
+			} catch (IOException | RuntimeException e) {
+				droppedSpans.addAndGet(batch.size());
+			}
+		}
+	}
+
+	/**
+	 * Export all buffered spans on the calling thread, waiting for a background export in progress to finish.
+	 */
+	public void flush() {
+		exportLock.lock();
+		try {
+			exportBatches(true);
+		} finally {
+			exportLock.unlock();
+		}
+	}
+
+	/**
+	 * Stop the background thread and export all buffered spans. Spans recorded after that are exported only on {@link #flush()}.
+	 */
+	@Override
+	public void close() {
+		exportExecutor.shutdown();
+		flush();
+	}
+
+	@Nonnull
+	public SpanExporter getExporter() {
+		return exporter;
+	}
+
+	/**
+	 * @return number of spans dropped since the buffer was full or the exporter failed
+	 */
+	public long getDroppedSpans() {
+		return droppedSpans.get();
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes a body to a temporary file, so it's not held in memory until logging, and attaches the file as a separate log entry. The file is
+ * deleted once Report Portal client reads it to send the entry, or right away if the entry can't be sent, see {@link SpooledBody}.
+ */
+public class SpoolBodyCapture implements BodyCaptureStrategy {
+
+	private static final String SUMMARY = "%d bytes, attached as a separate entry";
+	private static final String FILE_PREFIX = "rp-body-";
+	private static final String FILE_SUFFIX = ".bin";
+
+	private final Path directory;
+
+	/**
+	 * @param directory directory for spooled bodies or {@code null} to use the default temporary directory
+	 */
+	public SpoolBodyCapture(@Nullable Path directory) {
+		this.directory = directory;
+	}
+
+	public SpoolBodyCapture() {
+		this(null);
+	}
+
+	@Override
+	@Nonnull
+	public CapturedBody capture(@Nonnull BodySource body) throws IOException {
+		Path file = directory == null ?
+				Files.createTempFile(FILE_PREFIX, FILE_SUFFIX) :
+				Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+		long size;
+		try (InputStream stream = body.openStream()) {
+			size = Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			Files.deleteIfExists(file);
+			throw e;
+		}
+		return CapturedBody.attachment(String.format(SUMMARY, size), new SpooledBody(file, size));
+	}
+}
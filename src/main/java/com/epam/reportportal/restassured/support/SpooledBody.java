@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Body written to a temporary file by {@link SpoolBodyCapture}. The file is deleted once the body is read to send it or once it's
+ * discarded.
+ */
+public class SpooledBody {
+
+	private final Path file;
+	private final long size;
+
+	SpooledBody(@Nonnull Path file, long size) {
+		this.file = file;
+		this.size = size;
+	}
+
+	@Nonnull
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * @return body size in bytes
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Read the body and delete the file.
+	 *
+	 * @return body bytes
+	 * @throws IOException if the file can't be read, it's deleted anyway
+	 */
+	@Nonnull
+	public byte[] readAndDelete() throws IOException {
+		try (InputStream stream = Files.newInputStream(file, StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE)) {
+			return stream.readAllBytes();
+		}
+	}
+
+	/**
+	 * Delete the file of a body which is not going to be sent.
+	 */
+	public void discard() {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException ignore) {
+			// The file is in the temporary directory, it's up to the system to clean it up
+		}
+	}
+}
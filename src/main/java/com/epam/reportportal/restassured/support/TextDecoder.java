@@ -0,0 +1,214 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Text decoding utilities which resolve {@link Charset} objects once and decode only the part of the data which will be logged.
+ */
+public class TextDecoder {
+
+	private static final String CHARSET_PARAMETER = "charset=";
+	private static final String TRUNCATED_TAIL = "\n...\n[truncated, %d bytes total]";
+
+	/**
+	 * The longest byte sequence of a single character in common charsets (UTF-8, UTF-16 surrogate pairs, UTF-32).
+	 */
+	private static final int MAX_BYTES_PER_CHAR = 4;
+
+	private static final Map<String, Charset> CHARSETS = new ConcurrentHashMap<>();
+
+	private static final ThreadLocal<Map<Charset, CharsetDecoder>> DECODERS = ThreadLocal.withInitial(HashMap::new);
+
+	private TextDecoder() {
+		throw new IllegalStateException("Static only class");
+	}
+
+	/**
+	 * Truncation note of a cut body. Every cut body gets the same note, with the whole body size in bytes.
+	 *
+	 * @param totalBytes size of the whole body in bytes
+	 * @return the note
+	 */
+	@Nonnull
+	static String truncatedTail(long totalBytes) {
+		return String.format(TRUNCATED_TAIL, totalBytes);
+	}
+
+	/**
+	 * Count the UTF-8 encoded length of a text without encoding it.
+	 *
+	 * @param text the text
+	 * @return number of bytes
+	 */
+	public static long utf8Length(@Nonnull CharSequence text) {
+		long size = text.length();
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c >= 0x800 && !Character.isSurrogate(c)) {
+				size += 2;
+			} else if (c >= 0x80) {
+				size += 1;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Find the longest prefix of a text which fits the given number of UTF-8 encoded bytes. Surrogate pairs are never split.
+	 *
+	 * @param text     the text
+	 * @param maxBytes number of bytes
+	 * @return prefix length in characters
+	 */
+	public static int utf8Prefix(@Nonnull CharSequence text, long maxBytes) {
+		long size = 0;
+		int i = 0;
+		while (i < text.length()) {
+			char c = text.charAt(i);
+			int chars = 1;
+			int bytes;
+			if (c < 0x80) {
+				bytes = 1;
+			} else if (c < 0x800) {
+				bytes = 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+				chars = 2;
+				bytes = 4;
+			} else {
+				bytes = 3;
+			}
+			if (size + bytes > maxBytes) {
+				break;
+			}
+			size += bytes;
+			i += chars;
+		}
+		return i;
+	}
+
+	/**
+	 * Check if a content type is JSON.
+	 *
+	 * @param contentType Content-Type header value
+	 * @return {@code true} if the content type is JSON, including structured syntax suffixes like {@code application/problem+json}
+	 */
+	public static boolean isJson(@Nullable String contentType) {
+		if (contentType == null) {
+			return false;
+		}
+		int end = contentType.indexOf(';');
+		String mimeType = (end < 0 ? contentType : contentType.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+		return mimeType.endsWith("/json") || mimeType.endsWith("+json");
+	}
+
+	/**
+	 * Resolve a charset by its name. Unknown and illegal names resolve to UTF-8.
+	 *
+	 * @param charsetName charset name
+	 * @return resolved charset
+	 */
+	@Nonnull
+	public static Charset getCharset(@Nullable String charsetName) {
+		if (charsetName == null || charsetName.isEmpty()) {
+			return StandardCharsets.UTF_8;
+		}
+		return CHARSETS.computeIfAbsent(
+				charsetName, n -> {
+					try {
+						return Charset.forName(n);
+					} catch (IllegalArgumentException e) {
+						return StandardCharsets.UTF_8;
+					}
+				}
+		);
+	}
+
+	/**
+	 * Resolve a charset of the given Content-Type header value.
+	 *
+	 * @param contentType Content-Type header value
+	 * @return charset from 'charset' parameter or UTF-8 if there is no such parameter
+	 */
+	@Nonnull
+	public static Charset getContentTypeCharset(@Nullable String contentType) {
+		if (contentType == null) {
+			return StandardCharsets.UTF_8;
+		}
+		int index = contentType.toLowerCase(Locale.ROOT).indexOf(CHARSET_PARAMETER);
+		if (index < 0) {
+			return StandardCharsets.UTF_8;
+		}
+		int start = index + CHARSET_PARAMETER.length();
+		int end = contentType.indexOf(';', start);
+		String name = (end < 0 ? contentType.substring(start) : contentType.substring(start, end)).trim();
+		if (name.length() > 1 && name.startsWith("\"") && name.endsWith("\"")) {
+			name = name.substring(1, name.length() - 1);
+		}
+		return getCharset(name);
+	}
+
+	@Nonnull
+	private static CharsetDecoder getDecoder(@Nonnull Charset charset) {
+		return DECODERS.get()
+				.computeIfAbsent(
+						charset,
+						c -> c.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE)
+				)
+				.reset();
+	}
+
+	/**
+	 * Decode text from bytes, but no more than the given number of characters. Only the bytes needed for these characters are
+	 * decoded, the rest of the data is left untouched.
+	 *
+	 * @param data     encoded text
+	 * @param charset  text charset
+	 * @param maxChars maximum number of characters to decode, zero or negative value means no limit
+	 * @return decoded text with a truncation note if the text was cut
+	 */
+	@Nullable
+	public static String decode(@Nullable byte[] data, @Nonnull Charset charset, int maxChars) {
+		if (data == null) {
+			return null;
+		}
+		if (maxChars <= 0 || data.length <= maxChars) {
+			return new String(data, charset);
+		}
+		CharsetDecoder decoder = getDecoder(charset);
+		ByteBuffer in = ByteBuffer.wrap(data, 0, (int) Math.min(data.length, (long) maxChars * MAX_BYTES_PER_CHAR));
+		CharBuffer out = CharBuffer.allocate(maxChars);
+		boolean endOfInput = in.limit() == data.length;
+		CoderResult result = decoder.decode(in, out, endOfInput);
+		if (endOfInput && result.isUnderflow()) {
+			decoder.flush(out);
+		}
+		boolean truncated = result.isOverflow() || in.limit() < data.length;
+		out.flip();
+		return truncated ? out + truncatedTail(data.length) : out.toString();
+	}
+}
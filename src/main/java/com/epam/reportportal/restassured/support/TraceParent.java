@@ -0,0 +1,147 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W3C Trace Context {@code traceparent} header value: trace ID, parent span ID and trace flags. Contexts parsed from incoming headers
+ * are remote: their span was started by the caller, so it's the parent of the spans started with {@link #newSpan()}.
+ */
+public class TraceParent {
+
+	public static final String HEADER_NAME = "traceparent";
+
+	private static final String VERSION = "00";
+	private static final String SAMPLED = "01";
+	private static final int TRACE_ID_LENGTH = 32;
+	private static final int SPAN_ID_LENGTH = 16;
+	private static final int HEADER_LENGTH = 55;
+
+	private final String traceId;
+	private final String spanId;
+	private final String flags;
+	private final boolean remote;
+
+	private TraceParent(@Nonnull String traceId, @Nonnull String spanId, @Nonnull String flags, boolean remote) {
+		this.traceId = traceId;
+		this.spanId = spanId;
+		this.flags = flags;
+		this.remote = remote;
+	}
+
+	@Nonnull
+	private static String randomHex(int length) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		StringBuilder result = new StringBuilder(length);
+		for (int i = 0; i < length; i += 16) {
+			long value;
+			do {
+				value = random.nextLong();
+			} while (value == 0);
+			String hex = Long.toHexString(value);
+			for (int j = hex.length(); j < 16; j++) {
+				result.append('0');
+			}
+			result.append(hex);
+		}
+		return result.toString();
+	}
+
+	private static boolean isValidId(@Nonnull String id) {
+		boolean nonZero = false;
+		for (int i = 0; i < id.length(); i++) {
+			char c = id.charAt(i);
+			if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+				return false;
+			}
+			nonZero |= c != '0';
+		}
+		return nonZero;
+	}
+
+	/**
+	 * @return context of a new sampled trace
+	 */
+	@Nonnull
+	public static TraceParent newTrace() {
+		return new TraceParent(randomHex(TRACE_ID_LENGTH), randomHex(SPAN_ID_LENGTH), SAMPLED, false);
+	}
+
+	/**
+	 * Parse a {@code traceparent} header value.
+	 *
+	 * @param header header value
+	 * @return parsed context or {@code null} if the value is not valid
+	 */
+	@Nullable
+	public static TraceParent parse(@Nullable String header) {
+		if (header == null) {
+			return null;
+		}
+		String value = header.trim().toLowerCase(Locale.ROOT);
+		if (value.length() < HEADER_LENGTH || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-'
+				|| value.length() > HEADER_LENGTH && value.charAt(HEADER_LENGTH) != '-' || "ff".equals(value.substring(0, 2))) {
+			return null;
+		}
+		String traceId = value.substring(3, 3 + TRACE_ID_LENGTH);
+		String spanId = value.substring(36, 36 + SPAN_ID_LENGTH);
+		String flags = value.substring(53, HEADER_LENGTH);
+		if (!isValidId(traceId) || !isValidId(spanId) || Character.digit(flags.charAt(0), 16) < 0
+				|| Character.digit(flags.charAt(1), 16) < 0) {
+			return null;
+		}
+		return new TraceParent(traceId, spanId, flags, true);
+	}
+
+	/**
+	 * @return context of a new span in the same trace
+	 */
+	@Nonnull
+	public TraceParent newSpan() {
+		return new TraceParent(traceId, randomHex(SPAN_ID_LENGTH), flags, false);
+	}
+
+	@Nonnull
+	public String getTraceId() {
+		return traceId;
+	}
+
+	@Nonnull
+	public String getSpanId() {
+		return spanId;
+	}
+
+	/**
+	 * @return {@code true} if the context was parsed from a header
+	 */
+	public boolean isRemote() {
+		return remote;
+	}
+
+	/**
+	 * @return header value
+	 */
+	@Override
+	public String toString() {
+		return VERSION + '-' + traceId + '-' + spanId + '-' + flags;
+	}
+}
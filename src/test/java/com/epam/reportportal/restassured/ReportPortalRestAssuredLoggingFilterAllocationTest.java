@@ -0,0 +1,220 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured;
+
+import com.epam.reportportal.listeners.LogLevel;
+import com.epam.reportportal.service.ReportPortal;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures bytes allocated by the filter per exchange with thread allocation counters: real REST Assured exchanges with a local HTTP
+ * stub, with the filter minus without it. So an extra copy of a body or of headers in the logging path fails the build instead of
+ * running CI agents out of memory.
+ */
+public class ReportPortalRestAssuredLoggingFilterAllocationTest {
+
+	private static final String JSON_TYPE = "application/json";
+	private static final String BINARY_TYPE = "application/octet-stream";
+	private static final int PAYLOAD_SIZE = 1024 * 1024;
+	// JDK HTTP server rejects requests with more than 200 headers (sun.net.httpserver.maxReqHeaders), the rest goes into the response
+	private static final int REQUEST_HEADER_COUNT = 100;
+	private static final int RESPONSE_HEADER_COUNT = 400;
+	private static final int WARM_UP_RUNS = 20;
+	private static final int RUNS = 10;
+
+	// Budgets are multiples of request and response body sizes together, measured on JDK 17 with 1 MiB bodies.
+	// A text request body is copied once into its Markdown log message, a response body is decoded once and copied once into its message:
+	// three body copies for two bodies, measured 3.05 MiB.
+	private static final double JSON_BUDGET_FACTOR = 1.5;
+	// The formatting library copies every binary body twice: into a ByteSource and into a ReportPortalMessage, and a byte array request
+	// body is copied once at capture: five body copies for two bodies, measured 5.05 MiB.
+	private static final double BINARY_BUDGET_FACTOR = 2.5;
+	// Every logged header is rendered into the log message by the formatting library, measured about 450 bytes per header
+	private static final long HEADER_BUDGET_BYTES = 512;
+	// Formatters, log levels and other allocations which don't depend on the exchange size, measured about 60 KiB
+	private static final long FIXED_BUDGET_BYTES = 128 * 1024;
+
+	private static final String JSON_PAYLOAD = jsonPayload(PAYLOAD_SIZE);
+	private static final byte[] BINARY_PAYLOAD = binaryPayload(PAYLOAD_SIZE);
+
+	private static com.sun.management.ThreadMXBean threadBean;
+	private static HttpServer server;
+	private static ExecutorService serverExecutor;
+	private static String baseUri;
+
+	private static String jsonPayload(int size) {
+		StringBuilder result = new StringBuilder(size).append('[');
+		for (int i = 0; result.length() < size - 64; i++) {
+			result.append(i == 0 ? "" : ",").append(String.format("{\"id\": %d, \"name\": \"item-%d\", \"active\": %b}", i, i, i % 2 == 0));
+		}
+		return result.append(']').toString();
+	}
+
+	private static byte[] binaryPayload(int size) {
+		byte[] result = new byte[size];
+		ThreadLocalRandom.current().nextBytes(result);
+		return result;
+	}
+
+	private static String headerValue(int index) {
+		return String.format("value-%026d", index);
+	}
+
+	private static void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+		try (InputStream is = exchange.getRequestBody()) {
+			byte[] buffer = new byte[8192];
+			//noinspection StatementWithEmptyBody
+			while (is.read(buffer) >= 0) {
+			}
+		}
+		exchange.getResponseHeaders().add("Content-Type", contentType);
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(body);
+		}
+	}
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "Thread allocation counters are not available");
+		threadBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "Thread allocation counters are not supported");
+		if (!threadBean.isThreadAllocatedMemoryEnabled()) {
+			threadBean.setThreadAllocatedMemoryEnabled(true);
+		}
+
+		// The stub runs in its own threads, so only the client side of an exchange is counted
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16);
+		serverExecutor = Executors.newCachedThreadPool();
+		server.setExecutor(serverExecutor);
+		server.createContext("/json", exchange -> respond(exchange, JSON_TYPE, JSON_PAYLOAD.getBytes(StandardCharsets.UTF_8)));
+		server.createContext("/binary", exchange -> respond(exchange, BINARY_TYPE, BINARY_PAYLOAD));
+		server.createContext(
+				"/headers", exchange -> {
+					for (int i = 0; i < RESPONSE_HEADER_COUNT; i++) {
+						exchange.getResponseHeaders().add("X-Response-" + i, headerValue(i));
+					}
+					respond(exchange, JSON_TYPE, "{}".getBytes(StandardCharsets.UTF_8));
+				}
+		);
+		server.start();
+		baseUri = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		if (server != null) {
+			server.stop(0);
+			serverExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return the lowest number of bytes allocated by one exchange, after warm-up, so JIT compilation doesn't count
+	 */
+	private static long measure(Filter filter, String path, UnaryOperator<RequestSpecification> request) {
+		long threadId = Thread.currentThread().getId();
+		long result = Long.MAX_VALUE;
+		// Static mocks are thread-local, logs are not sent anywhere and not recorded by the mock, measurement runs in the same thread
+		try (MockedStatic<ReportPortal> ignored = Mockito.mockStatic(ReportPortal.class, withSettings().stubOnly())) {
+			for (int i = 0; i < WARM_UP_RUNS + RUNS; i++) {
+				RequestSpecification specification = request.apply(filter == null ? RestAssured.given() : RestAssured.given().filter(filter));
+				long before = threadBean.getThreadAllocatedBytes(threadId);
+				// A test reads the response body anyway, so it's a part of both measurements
+				specification.post(baseUri + path).then().statusCode(200).extract().asByteArray();
+				long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+				if (i >= WARM_UP_RUNS) {
+					result = Math.min(result, allocated);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static void assertBudget(String name, ReportPortalRestAssuredLoggingFilter filter, String path,
+			UnaryOperator<RequestSpecification> request, long budget) {
+		long baseline = measure(null, path, request);
+		long filtered = measure(filter, path, request);
+		assertThat(name + " exchange allocation by the filter", filtered - baseline, lessThanOrEqualTo(budget + FIXED_BUDGET_BYTES));
+	}
+
+	@Test
+	public void test_json_exchange_allocation_budget() {
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO);
+		// Prettifying is a separate cost of the prettifier library, the budget covers the logging path only
+		filter.setContentPrettifiers(Collections.emptyMap());
+		long bodySize = 2L * JSON_PAYLOAD.length();
+
+		assertBudget("JSON", filter, "/json", rq -> rq.contentType(JSON_TYPE).body(JSON_PAYLOAD), (long) (bodySize * JSON_BUDGET_FACTOR));
+	}
+
+	@Test
+	public void test_binary_exchange_allocation_budget() {
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO);
+		long bodySize = 2L * BINARY_PAYLOAD.length;
+
+		assertBudget(
+				"Binary",
+				filter,
+				"/binary",
+				rq -> rq.contentType(BINARY_TYPE).body(BINARY_PAYLOAD),
+				(long) (bodySize * BINARY_BUDGET_FACTOR)
+		);
+	}
+
+	@Test
+	public void test_header_heavy_exchange_allocation_budget() {
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO);
+
+		assertBudget(
+				"Header-heavy", filter, "/headers", rq -> {
+					for (int i = 0; i < REQUEST_HEADER_COUNT; i++) {
+						rq.header("X-Request-" + i, headerValue(i));
+					}
+					return rq.contentType(JSON_TYPE).body("{}");
+				}, (long) (REQUEST_HEADER_COUNT + RESPONSE_HEADER_COUNT) * HEADER_BUDGET_BYTES
+		);
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured;
+
+import com.epam.reportportal.listeners.LogLevel;
+import com.epam.reportportal.service.ReportPortal;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Runs the real filter with real REST Assured requests against a local HTTP stub from many threads in parallel.
+ */
+public class ReportPortalRestAssuredLoggingFilterConcurrencyTest {
+
+	private static final int TOTAL_CALLS = 2048;
+	private static final int MIN_CALLS_PER_CLIENT = 4;
+	private static final String CLIENT_HEADER = "X-Client";
+
+	// Filtered to unfiltered run ratios. Measured on JDK 17 with a single core, which the clients, the stub and the mocked log calls
+	// share: throughput 0.69-0.87, p99 latency 0.90-1.80.
+	private static final double MIN_THROUGHPUT_RATIO = 0.5;
+	private static final double MAX_P99_LATENCY_RATIO = 3.0;
+
+	private static HttpServer server;
+	private static ExecutorService serverExecutor;
+	private static String baseUri;
+
+	private static class RunResult {
+		private final long wallTimeNs;
+		private final long[] latenciesNs;
+		private final List<List<String>> logs;
+
+		private RunResult(long wallTimeNs, long[] latenciesNs, List<List<String>> logs) {
+			this.wallTimeNs = wallTimeNs;
+			this.latenciesNs = latenciesNs;
+			this.logs = logs;
+		}
+
+		private double throughput() {
+			return latenciesNs.length / (wallTimeNs / (double) TimeUnit.SECONDS.toNanos(1));
+		}
+
+		private long p99Ns() {
+			long[] sorted = latenciesNs.clone();
+			Arrays.sort(sorted);
+			return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+		}
+	}
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+		serverExecutor = Executors.newCachedThreadPool();
+		server.setExecutor(serverExecutor);
+		server.createContext(
+				"/", exchange -> {
+					byte[] body = String.format(
+							"{\"path\": \"%s\", \"client\": \"%s\"}",
+							exchange.getRequestURI().getPath(),
+							exchange.getRequestHeaders().getFirst(CLIENT_HEADER)
+					).getBytes(StandardCharsets.UTF_8);
+					exchange.getResponseHeaders().add("Content-Type", "application/json");
+					exchange.sendResponseHeaders(200, body.length);
+					try (OutputStream os = exchange.getResponseBody()) {
+						os.write(body);
+					}
+				}
+		);
+		server.start();
+		baseUri = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	private static String path(int client, int call) {
+		return "/client/" + client + "/call/" + call;
+	}
+
+	private static RunResult run(int clients, int calls, Filter filter) throws InterruptedException, ExecutionException {
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<long[]>> futures = new ArrayList<>();
+			List<List<String>> logs = new ArrayList<>();
+			for (int i = 0; i < clients; i++) {
+				int client = i;
+				List<String> clientLogs = new CopyOnWriteArrayList<>();
+				logs.add(clientLogs);
+				futures.add(executor.submit(() -> {
+					long[] latencies = new long[calls];
+					// Static mocks are thread-local, so every client captures only the logs emitted in its own thread
+					try (MockedStatic<ReportPortal> rp = Mockito.mockStatic(ReportPortal.class)) {
+						rp.when(() -> ReportPortal.emitLog(anyString(), anyString(), any(Instant.class))).thenAnswer(invocation -> {
+							clientLogs.add(invocation.getArgument(0));
+							return Boolean.TRUE;
+						});
+						start.await();
+						for (int j = 0; j < calls; j++) {
+							RequestSpecification request = RestAssured.given().header(CLIENT_HEADER, String.valueOf(client));
+							if (filter != null) {
+								request.filter(filter);
+							}
+							long startTime = System.nanoTime();
+							int status = request.get(baseUri + path(client, j)).statusCode();
+							latencies[j] = System.nanoTime() - startTime;
+							assertThat(status, equalTo(200));
+						}
+					}
+					return latencies;
+				}));
+			}
+			long startTime = System.nanoTime();
+			start.countDown();
+			List<long[]> latencies = new ArrayList<>();
+			for (Future<long[]> future : futures) {
+				latencies.add(future.get());
+			}
+			long wallTimeNs = System.nanoTime() - startTime;
+			return new RunResult(wallTimeNs, latencies.stream().flatMapToLong(Arrays::stream).toArray(), logs);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 8, 64, 256 })
+	public void test_parallel_clients_log_attribution_and_throughput(int clients) throws Exception {
+		int calls = Math.max(MIN_CALLS_PER_CLIENT, TOTAL_CALLS / clients);
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO);
+
+		// Warm up both paths, so JIT and connection setup don't count against the filter
+		run(Math.min(clients, 8), TOTAL_CALLS / 8, null);
+		run(Math.min(clients, 8), TOTAL_CALLS / 8, filter);
+
+		RunResult baseline = run(clients, calls, null);
+		RunResult filtered = run(clients, calls, filter);
+
+		baseline.logs.forEach(logs -> assertThat(logs, empty()));
+		for (int client = 0; client < clients; client++) {
+			List<String> logs = filtered.logs.get(client);
+			assertThat("Lost or duplicated log entries of client " + client, logs, hasSize(calls * 2)); // Request + Response
+			for (int call = 0; call < calls; call++) {
+				String path = path(client, call);
+				assertThat(logs.get(call * 2), allOf(startsWith("**>>> REQUEST**\nGET to "), containsString(path + "\n")));
+				assertThat(logs.get(call * 2 + 1), allOf(startsWith("**<<< RESPONSE**\n"), containsString(path + "\"")));
+				assertThat(logs.get(call * 2 + 1), containsString("\"" + client + "\""));
+			}
+		}
+
+		double throughputRatio = filtered.throughput() / baseline.throughput();
+		double latencyRatio = filtered.p99Ns() / (double) baseline.p99Ns();
+		String report = String.format(
+				"%d clients: baseline %.0f calls/s, p99 %d ms; filtered %.0f calls/s, p99 %d ms",
+				clients,
+				baseline.throughput(),
+				TimeUnit.NANOSECONDS.toMillis(baseline.p99Ns()),
+				filtered.throughput(),
+				TimeUnit.NANOSECONDS.toMillis(filtered.p99Ns())
+		);
+		System.out.println(report);
+		assertThat(report, throughputRatio, greaterThanOrEqualTo(MIN_THROUGHPUT_RATIO));
+		assertThat(report, latencyRatio, lessThanOrEqualTo(MAX_P99_LATENCY_RATIO));
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured;
+
+import com.epam.reportportal.formatting.http.prettifiers.JsonPrettifier;
+import com.epam.reportportal.formatting.http.prettifiers.XmlPrettifier;
+import com.epam.reportportal.listeners.LogLevel;
+import com.epam.reportportal.restassured.support.LazyPrettifiers;
+import com.epam.reportportal.service.ReportPortal;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.response.ResponseBody;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSender;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the filter doesn't create content prettifiers before a body of their MIME type is logged, so a suite doesn't pay on startup for
+ * prettifiers it never uses, and reports filter construction and the first request cost measured in fresh JVMs, since in the test JVM
+ * all classes are already loaded. The cost depends on the machine, so it's reported, not asserted.
+ */
+public class ReportPortalRestAssuredLoggingFilterStartupTest {
+
+	private static final String RESULT_PREFIX = "STARTUP_NANOS ";
+	private static final int RUNS = 3;
+
+	private static final String JSON_TYPE = "application/json";
+	private static final String XML_TYPE = "application/xml";
+	private static final String TEXT_TYPE = "text/plain";
+
+	private static FilterableRequestSpecification mockRequest(String contentType, String body) {
+		FilterableRequestSpecification request = mock(FilterableRequestSpecification.class);
+		when(request.getMethod()).thenReturn("POST");
+		when(request.getURI()).thenReturn("http://docker.local:8080/app");
+		when(request.getHeaders()).thenReturn(new Headers());
+		when(request.getContentType()).thenReturn(contentType);
+		when(request.getBody()).thenReturn(body);
+		return request;
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static FilterContext stubContext(String contentType, String body) {
+		Response response = mock(Response.class);
+		when(response.statusCode()).thenReturn(200);
+		when(response.getStatusLine()).thenReturn("HTTP/1.1 200");
+		when(response.getContentType()).thenReturn(contentType);
+		when(response.getHeaders()).thenReturn(new Headers());
+		ResponseBody responseBody = mock(ResponseBody.class);
+		when(response.getBody()).thenReturn(responseBody);
+		when(responseBody.asString()).thenReturn(body);
+		return new FilterContext() {
+			@Override
+			public void setValue(String name, Object value) {
+			}
+
+			@Override
+			public <T> T getValue(String name) {
+				return null;
+			}
+
+			@Override
+			public boolean hasValue(String name) {
+				return false;
+			}
+
+			@Override
+			public boolean hasValue(String name, Object value) {
+				return false;
+			}
+
+			@Override
+			public Response send(RequestSender requestSender) {
+				return null;
+			}
+
+			@Override
+			public Response next(FilterableRequestSpecification requestSpecification,
+					FilterableResponseSpecification responseSpecification) {
+				return response;
+			}
+		};
+	}
+
+	/**
+	 * Runs in a fresh JVM: prepares mocks first, so Mockito initialization is not measured, then measures the filter.
+	 */
+	public static class Probe {
+		public static void main(String[] args) {
+			FilterableRequestSpecification request = mockRequest(JSON_TYPE, "{\"key\": \"value\"}");
+			FilterContext context = stubContext(JSON_TYPE, "{\"key\": \"value\"}");
+
+			long start = System.nanoTime();
+			ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO);
+			long constructed = System.nanoTime();
+			filter.filter(request, null, context);
+			long firstRequest = System.nanoTime();
+			System.out.println(RESULT_PREFIX + (constructed - start) + " " + (firstRequest - constructed));
+		}
+	}
+
+	private static long[] runProbe() throws IOException, InterruptedException {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		Process process = new ProcessBuilder(
+				java,
+				"-cp",
+				System.getProperty("java.class.path"),
+				Probe.class.getName()
+		).redirectErrorStream(true).start();
+		List<String> output = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				output.add(line);
+			}
+		}
+		assertThat("Probe timed out", process.waitFor(2, TimeUnit.MINUTES), equalTo(Boolean.TRUE));
+		assertThat(String.join("\n", output), process.exitValue(), equalTo(0));
+		String result = output.stream().filter(l -> l.startsWith(RESULT_PREFIX)).findFirst().orElse(null);
+		assertThat(String.join("\n", output), result, notNullValue());
+		String[] values = result.substring(RESULT_PREFIX.length()).split(" ");
+		return new long[] { Long.parseLong(values[0]), Long.parseLong(values[1]) };
+	}
+
+	@Test
+	public void test_filter_construction_and_first_request_cost_reported() throws IOException, InterruptedException {
+		long construction = Long.MAX_VALUE;
+		long firstRequest = Long.MAX_VALUE;
+		for (int i = 0; i < RUNS; i++) {
+			long[] result = runProbe();
+			construction = Math.min(construction, result[0]);
+			firstRequest = Math.min(firstRequest, result[1]);
+		}
+		System.out.printf(
+				"Filter construction: %d ms, first request: %d ms%n",
+				TimeUnit.NANOSECONDS.toMillis(construction),
+				TimeUnit.NANOSECONDS.toMillis(firstRequest)
+		);
+	}
+
+	@Test
+	public void test_prettifiers_not_created_until_matching_content_logged() {
+		AtomicInteger jsonCalls = new AtomicInteger();
+		AtomicInteger xmlCalls = new AtomicInteger();
+		LazyPrettifiers prettifiers = new LazyPrettifiers.Builder().put(JSON_TYPE, () -> {
+			jsonCalls.incrementAndGet();
+			return JsonPrettifier.INSTANCE;
+		}).put(XML_TYPE, () -> {
+			xmlCalls.incrementAndGet();
+			return XmlPrettifier.INSTANCE;
+		}).build();
+
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setContentPrettifiers(
+				prettifiers);
+		assertThat("Setting prettifiers doesn't create them", jsonCalls.get() + xmlCalls.get(), equalTo(0));
+
+		try (MockedStatic<ReportPortal> ignored = Mockito.mockStatic(ReportPortal.class)) {
+			filter.filter(mockRequest(TEXT_TYPE, "hello"), null, stubContext(TEXT_TYPE, "world"));
+			assertThat("No prettifier for plain text", jsonCalls.get() + xmlCalls.get(), equalTo(0));
+
+			filter.filter(mockRequest(JSON_TYPE, "{\"key\": \"value\"}"), null, stubContext(JSON_TYPE, "{\"key\": \"value\"}"));
+			filter.filter(mockRequest(JSON_TYPE, "{\"key\": \"value\"}"), null, stubContext(JSON_TYPE, "{\"key\": \"value\"}"));
+		}
+		assertThat(jsonCalls.get(), equalTo(1));
+		assertThat(xmlCalls.get(), equalTo(0));
+	}
+}
@@ -23,11 +23,25 @@ import com.epam.reportportal.formatting.http.prettifiers.XmlPrettifier;
 import com.epam.reportportal.listeners.ItemStatus;
 import com.epam.reportportal.listeners.LogLevel;
 import com.epam.reportportal.message.ReportPortalMessage;
+import com.epam.reportportal.restassured.support.ExchangeSpan;
+import com.epam.reportportal.restassured.support.ExchangeStatistics;
+import com.epam.reportportal.restassured.support.GraphQlLogging;
+import com.epam.reportportal.restassured.support.HashBodyCapture;
+import com.epam.reportportal.restassured.support.HeadBodyCapture;
+import com.epam.reportportal.restassured.support.ImageReducer;
+import com.epam.reportportal.restassured.support.InMemorySpanExporter;
+import com.epam.reportportal.restassured.support.LogBudget;
+import com.epam.reportportal.restassured.support.LoggingProfile;
+import com.epam.reportportal.restassured.support.ResponseDiffer;
+import com.epam.reportportal.restassured.support.SpanRecorder;
+import com.epam.reportportal.restassured.support.TraceParent;
 import com.epam.reportportal.service.Launch;
+import com.epam.reportportal.service.LoggingContext;
 import com.epam.reportportal.service.ReportPortal;
 import com.epam.reportportal.service.step.StepReporter;
 import com.epam.reportportal.util.test.CommonUtils;
 import com.epam.reportportal.utils.files.Utils;
+import com.epam.ta.reportportal.ws.model.log.SaveLogRQ;
 import io.restassured.config.LogConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.FilterContext;
@@ -42,6 +56,7 @@ import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
 import io.restassured.specification.MultiPartSpecification;
 import io.restassured.specification.RequestSender;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.http.HttpHeaders;
 import org.apache.http.entity.ContentType;
@@ -53,25 +68,47 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.epam.reportportal.formatting.http.Constants.REMOVED_TAG;
 import static com.epam.reportportal.restassured.ReportPortalRestAssuredLoggingFilter.NULL_RESPONSE;
 import static java.util.Optional.ofNullable;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ReportPortalRestAssuredLoggingFilterTest {
@@ -123,6 +160,43 @@ public class ReportPortalRestAssuredLoggingFilterTest {
 		};
 	}
 
+	private static FilterContext getFilterContext(Map<String, Object> values,
+			BiFunction<FilterableRequestSpecification, FilterableResponseSpecification, Response> next) {
+		return new FilterContext() {
+			@Override
+			public void setValue(String name, Object value) {
+				values.put(name, value);
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public <T> T getValue(String name) {
+				return (T) values.get(name);
+			}
+
+			@Override
+			public boolean hasValue(String name) {
+				return values.containsKey(name);
+			}
+
+			@Override
+			public boolean hasValue(String name, Object value) {
+				return Objects.equals(values.get(name), value);
+			}
+
+			@Override
+			public Response send(RequestSender requestSender) {
+				return null;
+			}
+
+			@Override
+			public Response next(FilterableRequestSpecification requestSpecification,
+					FilterableResponseSpecification responseSpecification) {
+				return next.apply(requestSpecification, responseSpecification);
+			}
+		};
+	}
+
 	public static Iterable<Object[]> requestData() {
 		return Arrays.asList(
 				new Object[] { JSON_TYPE, "{\"object\": {\"key\": \"value\"}}", "{\"object\": {\"key\": \"value\"}}",
@@ -211,6 +285,7 @@ public class ReportPortalRestAssuredLoggingFilterTest {
 
 	private static Response mockBasicResponse(String contentType) {
 		Response responseObject = mock(Response.class);
+		when(responseObject.statusCode()).thenReturn(STATUS_CODE);
 		when(responseObject.getStatusLine()).thenReturn(STATUS_LINE);
 		when(responseObject.getContentType()).thenReturn(contentType);
 		return responseObject;
@@ -673,4 +748,559 @@ public class ReportPortalRestAssuredLoggingFilterTest {
 		String responseHeaderString = "\n\n**Headers**\nSet-Cookie: " + REMOVED_TAG;
 		assertThat(logs.get(1), equalTo(EMPTY_RESPONSE + responseHeaderString));
 	}
+
+	@Test
+	public void test_rest_assured_logger_duplicate_registration_logs_once() {
+		FilterableRequestSpecification requestSpecification = mockBasicRequest(HTML_TYPE);
+		Response responseObject = mockBasicResponse(HTML_TYPE);
+		OrderedFilter inner = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO);
+		OrderedFilter outer = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO);
+		Map<String, Object> values = new HashMap<>();
+		FilterContext innerContext = getFilterContext(values, (rq, rs) -> responseObject);
+		FilterContext outerContext = getFilterContext(values, (rq, rs) -> inner.filter(rq, rs, innerContext));
+
+		ArgumentCaptor<String> logCapture = ArgumentCaptor.forClass(String.class);
+		try (MockedStatic<ReportPortal> utilities = Mockito.mockStatic(ReportPortal.class)) {
+			utilities.when(() -> ReportPortal.emitLog(logCapture.capture(), anyString(), any(Instant.class))).thenReturn(Boolean.TRUE);
+			outer.filter(requestSpecification, null, outerContext);
+		}
+
+		List<String> logs = logCapture.getAllValues();
+		assertThat(logs, hasSize(2)); // Request + Response
+		assertThat(logs.get(0), equalTo(EMPTY_REQUEST));
+		assertThat(logs.get(1), equalTo(EMPTY_RESPONSE));
+	}
+
+	@Test
+	public void test_rest_assured_logger_registry_returns_same_instance() {
+		LoggingFilterRegistry.clear();
+		ReportPortalRestAssuredLoggingFilter first = LoggingFilterRegistry.getFilter(42, LogLevel.INFO);
+		assertThat(LoggingFilterRegistry.getFilter(42, LogLevel.INFO), sameInstance(first));
+		assertThat(LoggingFilterRegistry.getFilter(42, LogLevel.DEBUG), not(sameInstance(first)));
+		assertThat(LoggingFilterRegistry.getFilter(43, LogLevel.INFO), not(sameInstance(first)));
+
+		AtomicInteger created = new AtomicInteger();
+		Supplier<ReportPortalRestAssuredLoggingFilter> factory = () -> {
+			created.incrementAndGet();
+			return new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).addRequestFilter(rq -> false);
+		};
+		ReportPortalRestAssuredLoggingFilter named = LoggingFilterRegistry.getFilter("api", factory);
+		assertThat(LoggingFilterRegistry.getFilter("api", factory), sameInstance(named));
+		assertThat(LoggingFilterRegistry.getFilter("api"), sameInstance(named));
+		assertThat(created.get(), equalTo(1));
+		assertThrows(IllegalStateException.class, () -> named.addRequestFilter(rq -> true));
+		assertThrows(IllegalStateException.class, () -> first.setLogBudget(null));
+		LoggingFilterRegistry.clear();
+		assertThat(LoggingFilterRegistry.getFilter("api"), nullValue());
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void test_rest_assured_logger_budget_overflow_drops_body() {
+		String body = "{\"object\": {\"key\": \"value\"}}";
+		FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+		when(requestSpecification.getBody()).thenReturn(body);
+		Response responseObject = mockBasicResponse(JSON_TYPE);
+		ResponseBody responseBodyObject = mock(ResponseBody.class);
+		when(responseObject.getBody()).thenReturn(responseBodyObject);
+		when(responseBodyObject.asString()).thenReturn(body);
+		when(responseBodyObject.asByteArray()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+
+		LogBudget budget = new LogBudget(10, LogBudget.OverflowPolicy.DROP_BODY);
+		assertThat(budget.acquire(10), equalTo(LogBudget.Decision.FULL)); // occupy the whole budget
+
+		ArgumentCaptor<String> logCapture = ArgumentCaptor.forClass(String.class);
+		runFilter(
+				requestSpecification,
+				responseObject,
+				mock -> mock.when(() -> ReportPortal.emitLog(logCapture.capture(), anyString(), any(Instant.class)))
+						.thenReturn(Boolean.TRUE),
+				new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setLogBudget(budget)
+		);
+
+		List<String> logs = logCapture.getAllValues();
+		assertThat(logs, hasSize(2)); // Request + Response
+		assertThat(logs.get(0), equalTo(EMPTY_REQUEST));
+		assertThat(logs.get(1), equalTo(EMPTY_RESPONSE));
+		assertThat(budget.getDroppedBodies(), equalTo(2L));
+		assertThat(budget.getInFlightBytes(), equalTo(10L));
+	}
+
+	@Test
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public void test_rest_assured_logger_budget_held_until_entries_created() {
+		String body = "{\"object\": {\"key\": \"value\"}}";
+		FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+		when(requestSpecification.getBody()).thenReturn(body);
+		Response responseObject = mockBasicResponse(JSON_TYPE);
+		ResponseBody responseBodyObject = mock(ResponseBody.class);
+		when(responseObject.getBody()).thenReturn(responseBodyObject);
+		when(responseBodyObject.asString()).thenReturn(body);
+		when(responseBodyObject.asByteArray()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+
+		LogBudget budget = new LogBudget(1024, LogBudget.OverflowPolicy.DROP_EXCHANGE);
+		ArgumentCaptor<Function<String, SaveLogRQ>> entryCapture = ArgumentCaptor.forClass(Function.class);
+		runFilter(
+				requestSpecification,
+				responseObject,
+				mock -> mock.when(() -> ReportPortal.emitLog(entryCapture.capture())).thenReturn(Boolean.TRUE),
+				new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setLogBudget(budget)
+		);
+
+		List<Function<String, SaveLogRQ>> entries = entryCapture.getAllValues();
+		assertThat(entries, hasSize(2)); // Request + Response
+		assertThat("Entries hold the budget until the client creates them", budget.getInFlightBytes(), greaterThan(0L));
+		assertThat(budget.getQueueDepth(), equalTo(2));
+
+		SaveLogRQ request = entries.get(0).apply("item");
+		assertThat(request.getItemUuid(), equalTo("item"));
+		assertThat(request.getLevel(), equalTo(LogLevel.INFO.name()));
+		assertThat(request.getMessage(), startsWith("**>>> REQUEST**\n" + METHOD + " to " + URI));
+		assertThat(request.getMessage(), containsString("\"key\""));
+		assertThat(entries.get(1).apply("item").getMessage(), startsWith("**<<< RESPONSE**\n" + STATUS_LINE));
+		assertThat(budget.getInFlightBytes(), equalTo(0L));
+		assertThat(budget.getQueueDepth(), equalTo(0));
+
+		// An entry is released once, even if the client creates it again
+		entries.get(0).apply("item");
+		assertThat(budget.getQueueDepth(), equalTo(0));
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void test_rest_assured_logger_endpoint_rule() {
+		String body = "{\"object\": {\"key\": \"value\"}}";
+		FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+		when(requestSpecification.getBody()).thenReturn(body);
+		when(requestSpecification.getHeaders()).thenReturn(new Headers(new Header(HTTP_HEADER, HTTP_HEADER_VALUE)));
+		Response responseObject = mockBasicResponse(JSON_TYPE);
+		ResponseBody responseBodyObject = mock(ResponseBody.class);
+		when(responseObject.getBody()).thenReturn(responseBodyObject);
+		when(responseBodyObject.asString()).thenReturn(body);
+
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).addEndpointRule(
+				"GET",
+				".*/app",
+				new LoggingProfile.Builder().logBody(false).build()
+		).addEndpointRule(METHOD, ".*/app", new LoggingProfile.Builder().logLevel(LogLevel.DEBUG).logHeaders(false).build());
+
+		ArgumentCaptor<String> logCapture = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<String> levelCapture = ArgumentCaptor.forClass(String.class);
+		runFilter(
+				requestSpecification,
+				responseObject,
+				mock -> mock.when(() -> ReportPortal.emitLog(logCapture.capture(), levelCapture.capture(), any(Instant.class)))
+						.thenReturn(Boolean.TRUE),
+				filter
+		);
+
+		List<String> logs = logCapture.getAllValues();
+		assertThat(logs, hasSize(2)); // Request + Response
+		String expectedBody = "\n\n**Body**\n```\n" + JsonPrettifier.INSTANCE.apply(body) + "\n```";
+		assertThat(logs.get(0), equalTo(EMPTY_REQUEST + expectedBody));
+		assertThat(logs.get(1), equalTo(EMPTY_RESPONSE + expectedBody));
+		assertThat(levelCapture.getAllValues(), everyItem(equalTo(LogLevel.DEBUG.name())));
+	}
+
+	@Test
+	public void test_rest_assured_logger_text_bytes_body_decoded_with_charset_and_limit() {
+		String contentType = "text/plain; charset=ISO-8859-1";
+		String text = "h\u00e9llo world";
+		FilterableRequestSpecification requestSpecification = mockBasicRequest(contentType);
+		when(requestSpecification.getBody()).thenReturn(text.getBytes(StandardCharsets.ISO_8859_1));
+
+		ArgumentCaptor<String> logCapture = ArgumentCaptor.forClass(String.class);
+		runFilter(
+				requestSpecification,
+				null,
+				mock -> mock.when(() -> ReportPortal.emitLog(logCapture.capture(), anyString(), any(Instant.class)))
+						.thenReturn(Boolean.TRUE),
+				new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).addEndpointRule(
+						null,
+						".*",
+						new LoggingProfile.Builder().maxBodySize(5).build()
+				)
+		);
+
+		List<String> logs = logCapture.getAllValues();
+		assertThat(logs, hasSize(2)); // Request + Response
+		assertThat(
+				logs.get(0),
+				equalTo(EMPTY_REQUEST + "\n\n**Body**\n```\nh\u00e9llo\n...\n[truncated, 11 bytes total]\n```")
+		);
+	}
+
+	@Test
+	public void test_rest_assured_logger_text_body_truncation_note_matches_bytes_body() {
+		FilterableRequestSpecification requestSpecification = mockBasicRequest("text/plain");
+		when(requestSpecification.getBody()).thenReturn("h\u00e9llo world");
+
+		ArgumentCaptor<String> logCapture = ArgumentCaptor.forClass(String.class);
+		runFilter(
+				requestSpecification,
+				null,
+				mock -> mock.when(() -> ReportPortal.emitLog(logCapture.capture(), anyString(), any(Instant.class)))
+						.thenReturn(Boolean.TRUE),
+				new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).addEndpointRule(
+						null,
+						".*",
+						new LoggingProfile.Builder().maxBodySize(5).build()
+				)
+		);
+
+		List<String> logs = logCapture.getAllValues();
+		assertThat(logs, hasSize(2)); // Request + Response
+		// The same note as for a byte body, with the UTF-8 size of the text
+		assertThat(
+				logs.get(0),
+				equalTo(EMPTY_REQUEST + "\n\n**Body**\n```\nh\u00e9llo\n...\n[truncated, 12 bytes total]\n```")
+		);
+	}
+
+	@Test
+	public void test_rest_assured_logger_identical_exchanges_aggregated() {
+		FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+		Response responseObject = mockBasicResponse(HTML_TYPE);
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setAggregationWindow(
+				Duration.ofMinutes(1));
+
+		ArgumentCaptor<String> logCapture = ArgumentCaptor.forClass(String.class);
+		try (MockedStatic<ReportPortal> utilities = Mockito.mockStatic(ReportPortal.class)) {
+			utilities.when(() -> ReportPortal.emitLog(logCapture.capture(), anyString(), any(Instant.class))).thenReturn(Boolean.TRUE);
+			for (int i = 0; i < 3; i++) {
+				filter.filter(requestSpecification, null, getFilterContext(responseObject));
+			}
+			assertThat(logCapture.getAllValues(), hasSize(2)); // Request + Response of the first exchange only
+			filter.flushAggregates();
+		}
+
+		List<String> logs = logCapture.getAllValues();
+		assertThat(logs, hasSize(3));
+		assertThat(logs.get(0), equalTo(EMPTY_REQUEST));
+		assertThat(logs.get(1), equalTo(EMPTY_RESPONSE));
+		assertThat(
+				logs.get(2),
+				startsWith("**<<< REPEATED EXCHANGE**\n" + METHOD + " " + URI + " -> " + STATUS_CODE + "\nRepeated 3 times over ")
+		);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void test_rest_assured_logger_aggregated_summary_logged_to_its_item() {
+		FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+		Response responseObject = mockBasicResponse(HTML_TYPE);
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setAggregationWindow(
+				Duration.ofMinutes(1)).addEndpointRule(METHOD, ".*/app", new LoggingProfile.Builder().logLevel(LogLevel.DEBUG).build());
+		LoggingContext firstItem = mock(LoggingContext.class);
+		LoggingContext secondItem = mock(LoggingContext.class);
+
+		ArgumentCaptor<String> logCapture = ArgumentCaptor.forClass(String.class);
+		try (MockedStatic<ReportPortal> utilities = Mockito.mockStatic(ReportPortal.class);
+				MockedStatic<LoggingContext> context = Mockito.mockStatic(LoggingContext.class)) {
+			utilities.when(() -> ReportPortal.emitLog(logCapture.capture(), anyString(), any(Instant.class))).thenReturn(Boolean.TRUE);
+			context.when(LoggingContext::context).thenReturn(firstItem);
+			for (int i = 0; i < 3; i++) {
+				filter.filter(requestSpecification, null, getFilterContext(responseObject));
+			}
+			// The next test starts, the same exchange is not counted into the series of the previous test
+			context.when(LoggingContext::context).thenReturn(secondItem);
+			filter.filter(requestSpecification, null, getFilterContext(responseObject));
+		}
+
+		assertThat(logCapture.getAllValues(), hasSize(4)); // Request + Response of the first exchange in each item
+		ArgumentCaptor<Function<String, SaveLogRQ>> summaryCapture = ArgumentCaptor.forClass(Function.class);
+		verify(firstItem).emit(summaryCapture.capture());
+		verify(secondItem, never()).emit(any());
+		SaveLogRQ summary = summaryCapture.getValue().apply("item");
+		assertThat(summary.getItemUuid(), equalTo("item"));
+		assertThat(summary.getLevel(), equalTo(LogLevel.DEBUG.name()));
+		assertThat(
+				summary.getMessage(),
+				startsWith("**<<< REPEATED EXCHANGE**\n" + METHOD + " " + URI + " -> " + STATUS_CODE + "\nRepeated 3 times over ")
+		);
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void test_rest_assured_logger_image_body_reduced() throws IOException {
+		FilterableRequestSpecification requestSpecification = mockBasicRequest(IMAGE_TYPE);
+		byte[] image = getResource(IMAGE);
+		when(requestSpecification.getBody()).thenReturn(image);
+
+		Response responseObject = mockBasicResponse(IMAGE_TYPE);
+		ResponseBody responseBodyObject = mock(ResponseBody.class);
+		when(responseObject.getBody()).thenReturn(responseBodyObject);
+		when(responseBodyObject.asByteArray()).thenReturn(image);
+
+		ImageReducer reducer = new ImageReducer.Builder().maxBytes(10_000)
+				.previewSize(64)
+				.originalPolicy(ImageReducer.OriginalPolicy.KEEP)
+				.threads(1)
+				.build();
+		ArgumentCaptor<ReportPortalMessage> logCapture = ArgumentCaptor.forClass(ReportPortalMessage.class);
+		runFilter(
+				requestSpecification,
+				responseObject,
+				mock -> mock.when(() -> ReportPortal.emitLog(logCapture.capture(), anyString(), any(Instant.class)))
+						.thenReturn(Boolean.TRUE),
+				new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setImageReducer(reducer)
+		);
+
+		List<ReportPortalMessage> logs = logCapture.getAllValues();
+		assertThat(logs, hasSize(4)); // 2 x (Preview + Original)
+		assertThat(logs.get(0).getMessage(), equalTo(EMPTY_REQUEST));
+		assertThat(logs.get(2).getMessage(), equalTo(EMPTY_RESPONSE));
+		for (ReportPortalMessage preview : Arrays.asList(logs.get(0), logs.get(2))) {
+			assertThat(preview.getData().getMediaType(), equalTo(IMAGE_TYPE));
+			byte[] data = preview.getData().read();
+			assertThat(data.length, lessThan(image.length));
+			BufferedImage previewImage = ImageIO.read(new ByteArrayInputStream(data));
+			assertThat(Math.max(previewImage.getWidth(), previewImage.getHeight()), equalTo(64));
+		}
+		for (ReportPortalMessage original : Arrays.asList(logs.get(1), logs.get(3))) {
+			assertThat(original.getData().read(), equalTo(image));
+		}
+	}
+
+	@Test
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public void test_rest_assured_logger_response_image_reduced_after_response() throws IOException {
+		FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+		byte[] image = getResource(IMAGE);
+		Response responseObject = mockBasicResponse(IMAGE_TYPE);
+		ResponseBody responseBodyObject = mock(ResponseBody.class);
+		when(responseObject.getBody()).thenReturn(responseBodyObject);
+		when(responseBodyObject.asByteArray()).thenReturn(image);
+		LoggingContext item = mock(LoggingContext.class);
+
+		ArgumentCaptor<String> logCapture = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<ReportPortalMessage> messageCapture = ArgumentCaptor.forClass(ReportPortalMessage.class);
+		try (ImageReducer reducer = new ImageReducer.Builder().maxBytes(10_000).previewSize(64).threads(1).build();
+				MockedStatic<LoggingContext> context = Mockito.mockStatic(LoggingContext.class)) {
+			context.when(LoggingContext::context).thenReturn(item);
+			runFilter(
+					requestSpecification, responseObject, mock -> {
+						mock.when(() -> ReportPortal.emitLog(logCapture.capture(), anyString(), any(Instant.class))).thenReturn(Boolean.TRUE);
+						mock.when(() -> ReportPortal.emitLog(messageCapture.capture(), anyString(), any(Instant.class)))
+								.thenReturn(Boolean.TRUE);
+					}, new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setImageReducer(reducer)
+			);
+		}
+
+		// The response is logged without the image, not waiting for the reduction
+		List<String> logs = logCapture.getAllValues();
+		assertThat(logs, hasSize(2)); // Request + Response
+		assertThat(logs.get(1), startsWith(EMPTY_RESPONSE));
+		assertThat(messageCapture.getAllValues(), hasSize(0));
+
+		ArgumentCaptor<Function<String, SaveLogRQ>> previewCapture = ArgumentCaptor.forClass(Function.class);
+		verify(item, timeout(10_000)).emit(previewCapture.capture());
+		SaveLogRQ preview = previewCapture.getValue().apply("item");
+		assertThat(preview.getItemUuid(), equalTo("item"));
+		assertThat(preview.getFile().getContentType(), equalTo(IMAGE_TYPE));
+		byte[] data = preview.getFile().getContent();
+		assertThat(data.length, lessThan(image.length));
+		BufferedImage previewImage = ImageIO.read(new ByteArrayInputStream(data));
+		assertThat(Math.max(previewImage.getWidth(), previewImage.getHeight()), equalTo(64));
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void test_rest_assured_logger_body_capture_strategies() {
+		String requestBody = "{\"object\": {\"key\": \"value\"}}";
+		FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+		when(requestSpecification.getBody()).thenReturn(requestBody);
+		String textType = ContentType.TEXT_PLAIN.getMimeType();
+		Response responseObject = mockBasicResponse(textType);
+		ResponseBody responseBodyObject = mock(ResponseBody.class);
+		when(responseObject.getBody()).thenReturn(responseBodyObject);
+		when(responseBodyObject.asByteArray()).thenReturn("hello world".getBytes(StandardCharsets.UTF_8));
+
+		ArgumentCaptor<String> logCapture = ArgumentCaptor.forClass(String.class);
+		runFilter(
+				requestSpecification,
+				responseObject,
+				mock -> mock.when(() -> ReportPortal.emitLog(logCapture.capture(), anyString(), any(Instant.class)))
+						.thenReturn(Boolean.TRUE),
+				new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setBodyCaptureStrategy(JSON_TYPE, HashBodyCapture.INSTANCE)
+						.setBodyCaptureStrategy(textType, new HeadBodyCapture(5))
+		);
+
+		List<String> logs = logCapture.getAllValues();
+		assertThat(logs, hasSize(2)); // Request + Response
+		assertThat(
+				logs.get(0),
+				equalTo(EMPTY_REQUEST + "\n\n**Body**\n```\n" + requestBody.length() + " bytes, SHA-256: " + DigestUtils.sha256Hex(
+						requestBody) + "\n```")
+		);
+		assertThat(logs.get(1), equalTo(EMPTY_RESPONSE + "\n\n**Body**\n```\nhello\n...\n[truncated, 11 bytes total]\n```"));
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void test_exchange_statistics_report_logged_to_launch() {
+		Response responseObject = mockBasicResponse(JSON_TYPE);
+		when(responseObject.statusCode()).thenReturn(STATUS_CODE);
+		ResponseBody responseBodyObject = mock(ResponseBody.class);
+		when(responseObject.getBody()).thenReturn(responseBodyObject);
+		when(responseBodyObject.asByteArray()).thenReturn(new byte[10]);
+		ExchangeStatistics statistics = new ExchangeStatistics();
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setStatistics(statistics);
+
+		ArgumentCaptor<ReportPortalMessage> launchLogCapture = ArgumentCaptor.forClass(ReportPortalMessage.class);
+		try (MockedStatic<ReportPortal> utilities = Mockito.mockStatic(ReportPortal.class)) {
+			utilities.when(() -> ReportPortal.emitLog(anyString(), anyString(), any(Instant.class))).thenReturn(Boolean.TRUE);
+			utilities.when(() -> ReportPortal.emitLaunchLog(launchLogCapture.capture(), anyString(), any(Instant.class)))
+					.thenReturn(Boolean.TRUE);
+			for (int i = 1; i <= 3; i++) {
+				FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+				when(requestSpecification.getURI()).thenReturn("http://docker.local:8080/users/" + i);
+				when(requestSpecification.getBody()).thenReturn("{\"id\": " + i + "}");
+				filter.filter(requestSpecification, null, getFilterContext(responseObject));
+			}
+			filter.logStatistics();
+		}
+
+		assertThat(statistics.getCalls(), equalTo(3L));
+		List<ReportPortalMessage> launchLogs = launchLogCapture.getAllValues();
+		assertThat(launchLogs, hasSize(1));
+		String report = statistics.report();
+		assertThat(report, containsString("| " + METHOD + " /users/{id} | 3 | 0 | 3 | 0 | 0 | 0 | 0 | "));
+		assertThat(report, containsString(" | 27 | 30 |"));
+		assertThat(report, endsWith("Total: 3 calls to 1 endpoints"));
+		assertThat(launchLogs.get(0).getData().getMediaType(), equalTo(ReportPortalRestAssuredLoggingFilter.STATISTICS_MIME_TYPE));
+		assertThat(launchLogs.get(0).getMessage(), containsString(report));
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static Response mockJsonResponse(int statusCode, String body) {
+		Response responseObject = mock(Response.class);
+		when(responseObject.statusCode()).thenReturn(statusCode);
+		when(responseObject.getStatusLine()).thenReturn(String.format("HTTP/1.1 %d", statusCode));
+		when(responseObject.getContentType()).thenReturn(JSON_TYPE);
+		ResponseBody responseBodyObject = mock(ResponseBody.class);
+		when(responseObject.getBody()).thenReturn(responseBodyObject);
+		when(responseBodyObject.asString()).thenReturn(body);
+		when(responseBodyObject.asByteArray()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+		return responseObject;
+	}
+
+	@Test
+	public void test_json_responses_logged_as_diffs() {
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setResponseDiffer(
+				new ResponseDiffer.Builder().build());
+		List<Response> responses = Arrays.asList(
+				mockJsonResponse(200, "{\"id\": 1, \"name\": \"pug\", \"tags\": [\"x\"]}"),
+				mockJsonResponse(200, "{\"id\": 2, \"name\": \"pug\", \"tags\": [\"x\", \"y\"]}"),
+				mockJsonResponse(404, "{\"error\": \"not found\"}")
+		);
+
+		ArgumentCaptor<String> logCapture = ArgumentCaptor.forClass(String.class);
+		try (MockedStatic<ReportPortal> utilities = Mockito.mockStatic(ReportPortal.class)) {
+			utilities.when(() -> ReportPortal.emitLog(logCapture.capture(), anyString(), any(Instant.class))).thenReturn(Boolean.TRUE);
+			for (int i = 0; i < responses.size(); i++) {
+				FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+				when(requestSpecification.getMethod()).thenReturn("GET");
+				when(requestSpecification.getURI()).thenReturn("http://docker.local:8080/users/" + (i + 1));
+				filter.filter(requestSpecification, null, getFilterContext(responses.get(i)));
+			}
+			assertThat(logCapture.getAllValues(), hasSize(6));
+			filter.logDiffedResponses();
+		}
+
+		List<String> logs = logCapture.getAllValues();
+		assertThat(logs, hasSize(7)); // 3 x (Request + Response) + the diffed response in full
+		assertThat(logs.get(1), startsWith("**<<< RESPONSE**\nHTTP/1.1 200"));
+		assertThat(logs.get(1), containsString("\"pug\""));
+		assertThat(logs.get(3), startsWith("**<<< RESPONSE**\nHTTP/1.1 200"));
+		assertThat(logs.get(3), containsString("**Body**\n```\nDiff to the last full response of GET /users/{id}, sha256: "));
+		assertThat(logs.get(3), containsString("\n~ $.id: 1 -> 2\n+ $.tags[1]: \"y\"\nBody sha256: "));
+		assertThat(logs.get(5), startsWith("**<<< RESPONSE**\nHTTP/1.1 404"));
+		assertThat(logs.get(6), startsWith("**<<< RESPONSE**\nHTTP/1.1 200"));
+		assertThat(logs.get(6), containsString("\"y\""));
+	}
+
+	@Test
+	public void test_trace_parent_injected_and_spans_recorded() {
+		String incomingTraceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+		String incomingSpanId = "00f067aa0ba902b7";
+		FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+		when(requestSpecification.getHeaders()).thenReturn(new Headers(new Header(
+				TraceParent.HEADER_NAME,
+				"00-" + incomingTraceId + "-" + incomingSpanId + "-01"
+		)));
+		Response responseObject = mockBasicResponse(JSON_TYPE);
+		when(responseObject.statusCode()).thenReturn(STATUS_CODE);
+		InMemorySpanExporter exporter = new InMemorySpanExporter();
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setSpanRecorder(
+				new SpanRecorder(exporter));
+
+		FilterContext context = getFilterContext(new HashMap<>(), (rq, rs) -> responseObject);
+		try (MockedStatic<ReportPortal> utilities = Mockito.mockStatic(ReportPortal.class)) {
+			utilities.when(() -> ReportPortal.emitLog(anyString(), anyString(), any(Instant.class))).thenReturn(Boolean.TRUE);
+			filter.filter(requestSpecification, null, context); // The first try
+			filter.filter(requestSpecification, null, context); // Another exchange in the same filter context
+		}
+		assertThat(exporter.getSpans(), hasSize(0)); // Not a full batch yet
+		filter.flushSpans();
+
+		List<ExchangeSpan> spans = exporter.getSpans();
+		assertThat(spans, hasSize(2));
+		List<Object> injected = new ArrayList<>();
+		Mockito.mockingDetails(requestSpecification)
+				.getInvocations()
+				.stream()
+				.filter(i -> "header".equals(i.getMethod().getName()))
+				.forEach(i -> injected.add(i.getArguments()[1]));
+		assertThat(injected, hasSize(2));
+		for (int i = 0; i < spans.size(); i++) {
+			ExchangeSpan span = spans.get(i);
+			assertThat(span.getTraceId(), equalTo(incomingTraceId));
+			assertThat(span.getParentSpanId(), equalTo(incomingSpanId));
+			assertThat(span.getName(), equalTo(METHOD + " /app"));
+			assertThat(span.getStatusCode(), equalTo(STATUS_CODE));
+			assertThat(span.getEndEpochNanos(), greaterThanOrEqualTo(span.getStartEpochNanos()));
+			assertThat(injected.get(i), equalTo("00-" + incomingTraceId + "-" + span.getSpanId() + "-01"));
+		}
+		assertThat(spans.get(0).getSpanId(), not(equalTo(spans.get(1).getSpanId())));
+	}
+
+	@Test
+	public void test_graphql_requests_logged_by_operation() {
+		String body = "{\"query\": \"query GetUser($id: ID!) { user(id: $id) { name } }\", \"variables\": {\"id\": \"42\"}}";
+		ExchangeStatistics statistics = new ExchangeStatistics();
+		ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setGraphQlLogging(
+				new GraphQlLogging.Builder().build()).setStatistics(statistics);
+		filter.addGraphQlOperationFilter(operation -> "Skipped".equals(operation.getName()));
+
+		ArgumentCaptor<String> logCapture = ArgumentCaptor.forClass(String.class);
+		try (MockedStatic<ReportPortal> utilities = Mockito.mockStatic(ReportPortal.class)) {
+			utilities.when(() -> ReportPortal.emitLog(logCapture.capture(), anyString(), any(Instant.class))).thenReturn(Boolean.TRUE);
+			for (int i = 0; i < 2; i++) {
+				FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+				when(requestSpecification.getURI()).thenReturn("http://docker.local:8080/graphql");
+				when(requestSpecification.getBody()).thenReturn(body);
+				filter.filter(
+						requestSpecification,
+						null,
+						getFilterContext(mockJsonResponse(200, "{\"data\": {\"user\": null}, \"errors\": [{\"message\": \"Not found\"}]}"))
+				);
+			}
+			FilterableRequestSpecification requestSpecification = mockBasicRequest(JSON_TYPE);
+			when(requestSpecification.getURI()).thenReturn("http://docker.local:8080/graphql");
+			when(requestSpecification.getBody()).thenReturn("{\"query\": \"query Skipped { a }\"}");
+			filter.filter(requestSpecification, null, getFilterContext(mockJsonResponse(200, "{\"data\": {\"a\": 1}}")));
+		}
+
+		List<String> logs = logCapture.getAllValues();
+		assertThat(logs, hasSize(4)); // 2 x (Request + Response), the skipped operation is not logged
+		assertThat(logs.get(0), containsString("query GetUser, document sha256: "));
+		assertThat(logs.get(0), containsString("query GetUser($id: ID!) { user(id: $id) { name } }"));
+		assertThat(logs.get(0), containsString("Variables: {\"id\":\"42\"}"));
+		assertThat(logs.get(1), containsString("Data: {\"user\":null}\n\nErrors: [{\"message\":\"Not found\"}]"));
+		assertThat(logs.get(2), containsString(", logged before"));
+		assertThat(logs.get(2), not(containsString("{ user(id: $id) { name } }")));
+		assertThat(statistics.getCalls(), equalTo(2L));
+		assertThat(statistics.report(), containsString("| " + METHOD + " /graphql query GetUser | 2 | "));
+	}
 }
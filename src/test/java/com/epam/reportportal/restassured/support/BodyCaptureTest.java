@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BodyCaptureTest {
+
+	private static final String BODY = "h\u00e9llo world";
+
+	private static long countFiles(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+
+	@Test
+	public void test_spooled_body_attached_and_deleted_once_read(@TempDir Path directory) throws IOException {
+		CapturedBody captured = new SpoolBodyCapture(directory).capture(BodySource.of(BODY));
+
+		assertThat(captured.isSummary(), equalTo(Boolean.TRUE));
+		assertThat(captured.getSummary(), equalTo("12 bytes, attached as a separate entry"));
+		assertThat(captured.getAttachment(), notNullValue());
+		assertThat(countFiles(directory), equalTo(1L));
+
+		// Report Portal client reads the attachment when it sends the entry
+		assertThat(new String(captured.getAttachment().readAndDelete(), StandardCharsets.UTF_8), equalTo(BODY));
+		assertThat(countFiles(directory), equalTo(0L));
+	}
+
+	@Test
+	public void test_unsent_spooled_body_discarded(@TempDir Path directory) throws IOException {
+		CapturedBody captured = new SpoolBodyCapture(directory).capture(BodySource.of(BODY));
+		assertThat(captured.getAttachment(), notNullValue());
+		assertThat(countFiles(directory), equalTo(1L));
+
+		captured.getAttachment().discard();
+		assertThat(countFiles(directory), equalTo(0L));
+	}
+
+	@Test
+	public void test_text_head_cut_by_encoded_bytes() throws IOException {
+		// "h" is one byte and "\u00e9" is two, the third byte would split the second character
+		CapturedBody captured = new HeadBodyCapture(2).capture(BodySource.of(BODY));
+		assertThat(captured.getContent(), equalTo("h"));
+
+		captured = new HeadBodyCapture(3).capture(BodySource.of(BODY));
+		assertThat(captured.getContent(), equalTo("h\u00e9"));
+
+		captured = new HeadBodyCapture(12).capture(BodySource.of(BODY));
+		assertThat(captured.getContent(), equalTo(BODY));
+	}
+
+	@Test
+	public void test_surrogate_pair_never_split() {
+		String text = "a\ud83d\ude00b";
+		assertThat(TextDecoder.utf8Prefix(text, 4), equalTo(1));
+		assertThat(TextDecoder.utf8Prefix(text, 5), equalTo(3));
+		assertThat(TextDecoder.utf8Prefix(text, 6), equalTo(4));
+	}
+
+	@Test
+	public void test_text_body_encoded_once() throws IOException {
+		BodySource source = BodySource.of(BODY);
+		assertThat(source, notNullValue());
+
+		assertThat(source.getSize(), equalTo(12L));
+		assertThat(source.read(), sameInstance(source.read()));
+
+		CapturedBody captured = HashBodyCapture.INSTANCE.capture(source);
+		assertThat(
+				captured.getSummary(),
+				equalTo("12 bytes, SHA-256: " + DigestUtils.sha256Hex(BODY.getBytes(StandardCharsets.UTF_8)))
+		);
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import io.restassured.RestAssured;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExchangeAggregatorTest {
+
+	private static ExchangeSnapshot exchange() {
+		FilterableRequestSpecification request = (FilterableRequestSpecification) RestAssured.given()
+				.baseUri("http://docker.local:8080")
+				.basePath("/app");
+		Response response = mock(Response.class);
+		when(response.statusCode()).thenReturn(200);
+		when(response.getStatusLine()).thenReturn("HTTP/1.1 200");
+		when(response.getHeaders()).thenReturn(new Headers());
+		return ExchangeSnapshot.captureRequest(request, null).withResponse(response);
+	}
+
+	@Test
+	public void test_expired_series_flushed_without_next_exchange() throws InterruptedException {
+		ExchangeSnapshot exchange = exchange();
+		BlockingQueue<String> summaries = new LinkedBlockingQueue<>();
+		Object scope = new Object();
+		try (ExchangeAggregator aggregator = new ExchangeAggregator(Duration.ofMillis(200))) {
+			assertThat(aggregator.record(exchange, "/app", 1, scope, summaries::add), equalTo(Boolean.TRUE));
+			assertThat(aggregator.record(exchange, "/app", 1, scope, summaries::add), equalTo(Boolean.FALSE));
+
+			String summary = summaries.poll(10, TimeUnit.SECONDS);
+			assertThat(summary, startsWith("**<<< REPEATED EXCHANGE**\n"));
+			assertThat(summary, containsString("Repeated 2 times"));
+			// The series is finished once, flush after expiry emits nothing
+			aggregator.flush();
+			assertThat(summaries, empty());
+		}
+	}
+
+	@Test
+	public void test_series_without_scope_flushed_by_its_thread_only() throws InterruptedException {
+		ExchangeSnapshot exchange = exchange();
+		BlockingQueue<String> threads = new LinkedBlockingQueue<>();
+		try (ExchangeAggregator aggregator = new ExchangeAggregator(Duration.ofMillis(100))) {
+			assertThat(aggregator.record(exchange, "/app", 1, null, s -> threads.add(Thread.currentThread().getName())), equalTo(Boolean.TRUE));
+			assertThat(aggregator.record(exchange, "/app", 1, null, s -> threads.add(Thread.currentThread().getName())), equalTo(Boolean.FALSE));
+
+			// The expiry timer has no logging context for the summary, it leaves the series to the owning thread
+			assertThat(threads.poll(500, TimeUnit.MILLISECONDS), nullValue());
+			aggregator.flush();
+			assertThat(threads.poll(), equalTo(Thread.currentThread().getName()));
+		}
+	}
+
+	@Test
+	public void test_series_not_shared_between_scopes() {
+		ExchangeSnapshot exchange = exchange();
+		List<String> first = new CopyOnWriteArrayList<>();
+		List<String> second = new CopyOnWriteArrayList<>();
+		try (ExchangeAggregator aggregator = new ExchangeAggregator(Duration.ofMinutes(1))) {
+			Object firstScope = new Object();
+			Object secondScope = new Object();
+			assertThat(aggregator.record(exchange, "/app", 1, firstScope, first::add), equalTo(Boolean.TRUE));
+			assertThat(aggregator.record(exchange, "/app", 1, firstScope, first::add), equalTo(Boolean.FALSE));
+			assertThat(aggregator.record(exchange, "/app", 1, secondScope, second::add), equalTo(Boolean.TRUE));
+			aggregator.flush();
+		}
+		assertThat(first, hasSize(1));
+		assertThat(second, empty());
+	}
+}
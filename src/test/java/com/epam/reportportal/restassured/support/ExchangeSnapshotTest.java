@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import io.restassured.RestAssured;
+import io.restassured.specification.FilterableRequestSpecification;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ExchangeSnapshotTest {
+
+	private static final String BODY = "{\"id\": 1}";
+
+	private static FilterableRequestSpecification request() {
+		return (FilterableRequestSpecification) RestAssured.given()
+				.baseUri("http://docker.local:8080")
+				.basePath("/app")
+				.contentType("application/json")
+				.header("X-Test", "before");
+	}
+
+	@Test
+	public void test_snapshot_does_not_change_with_request_specification() {
+		byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+		FilterableRequestSpecification request = request();
+		request.body(body);
+		request.formParam("param", "before");
+
+		ExchangeSnapshot exchange = ExchangeSnapshot.captureRequest(request, Collections.emptySet(), LoggingProfile.DEFAULT);
+
+		Arrays.fill(body, (byte) 'x');
+		request.replaceHeader("X-Test", "after");
+		request.header("X-Other", "after");
+		request.removeFormParam("param");
+		request.formParam("param", "after");
+		request.body("after");
+
+		assertThat(exchange.getRequestBody(), instanceOf(byte[].class));
+		assertThat(new String((byte[]) exchange.getRequestBody(), StandardCharsets.UTF_8), equalTo(BODY));
+		assertThat(exchange.getRequestBodySize(), equalTo((long) BODY.length()));
+		assertThat(exchange.getRequestHeaders().getFirst("X-Test"), equalTo("before"));
+		assertThat(exchange.getRequestHeaders().getFirst("X-Other"), nullValue());
+		assertThat(exchange.getFormParams(), equalTo(Collections.singletonMap("param", "before")));
+	}
+
+	@Test
+	public void test_snapshot_captures_only_logged_request_parts() {
+		FilterableRequestSpecification request = request();
+		request.body(BODY.getBytes(StandardCharsets.UTF_8));
+		request.formParam("param", "value");
+		request.cookie("session", "value");
+		LoggingProfile profile = new LoggingProfile.Builder().logHeaders(false).logCookies(false).logBody(false).build();
+
+		ExchangeSnapshot exchange = ExchangeSnapshot.captureRequest(request, Collections.emptySet(), profile);
+
+		assertThat(exchange.getRequestHeaders().isEmpty(), equalTo(Boolean.TRUE));
+		assertThat(exchange.getRequestCookies(), nullValue());
+		assertThat(exchange.getRequestBody(), nullValue());
+		assertThat(exchange.getFormParams(), nullValue());
+		assertThat(exchange.getMultiPartParams(), nullValue());
+		assertThat("Body size is recorded for statistics", exchange.getRequestBodySize(), equalTo((long) BODY.length()));
+	}
+
+	@Test
+	public void test_form_params_limited_at_capture() {
+		FilterableRequestSpecification request = request();
+		for (int i = 0; i < 1000; i++) {
+			request.formParam("field" + i, "value" + i);
+		}
+		LoggingProfile profile = new LoggingProfile.Builder().maxParams(2).build();
+
+		ExchangeSnapshot exchange = ExchangeSnapshot.captureRequest(request, Collections.emptySet(), profile);
+
+		assertThat(
+				new ArrayList<>(exchange.getFormParams().keySet()),
+				equalTo(Arrays.asList("field0", "field1", ParamLimiter.OMITTED_PARAMS_NAME))
+		);
+		long keptSize = "field0value0field1value1".length() + ParamLimiter.OMITTED_PARAMS_NAME.length()
+				+ "[998 more parameters omitted]".length();
+		assertThat(HttpEntityFactory.estimateRequestSize(exchange), equalTo(keptSize));
+	}
+}
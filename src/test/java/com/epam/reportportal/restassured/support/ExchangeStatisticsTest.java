@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ExchangeStatisticsTest {
+
+	@Test
+	public void test_uri_templates_normalized() {
+		assertThat(ExchangeStatistics.normalizeUri("http://docker.local:8080/app"), equalTo("/app"));
+		assertThat(ExchangeStatistics.normalizeUri("http://docker.local/users/42/orders?page=2#top"), equalTo("/users/{id}/orders"));
+		assertThat(
+				ExchangeStatistics.normalizeUri("/items/0b4d6a5e-3c7f-4f0a-9b1e-2d8c6f7a9e10/tags/v2"),
+				equalTo("/items/{id}/tags/v2")
+		);
+		assertThat(ExchangeStatistics.normalizeUri("/blobs/a3f5c2e19b7d4e60"), equalTo("/blobs/{id}"));
+		assertThat(ExchangeStatistics.normalizeUri("http://docker.local:8080"), equalTo("/"));
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class GraphQlOperationTest {
+
+	private static final String JSON_TYPE = "application/json";
+
+	@Test
+	public void test_graphql_operation_detected() {
+		GraphQlOperation operation = GraphQlOperation.detect(
+				JSON_TYPE,
+				"{\"query\": \"# comment {\\nfragment F on User { id }\\nquery A { a }\\nmutation B($id: ID) { b(id: $id) { ...F } }\", "
+						+ "\"operationName\": \"B\", \"variables\": {\"id\": 1}}"
+		);
+		assertThat(operation, notNullValue());
+		assertThat(operation.getKey(), equalTo("mutation B"));
+		assertThat(operation.getVariables(), equalTo(Collections.singletonMap("id", new BigDecimal(1))));
+		assertThat(GraphQlOperation.detect("application/graphql", "{ user { id } }").getKey(), equalTo("query"));
+		assertThat(GraphQlOperation.detect(JSON_TYPE, "{\"id\": 1}"), nullValue());
+		assertThat(GraphQlOperation.detect(JSON_TYPE, "{\"query\": 1}"), nullValue());
+		assertThat(GraphQlOperation.detect("text/plain", "{\"query\": \"{ a }\"}"), nullValue());
+	}
+
+	@Test
+	public void test_graphql_operation_detected_in_binary_body() {
+		byte[] query = "{\"query\": \"query A { a }\"}".getBytes(StandardCharsets.UTF_8);
+
+		assertThat(HttpEntityFactory.detectGraphQlOperation(JSON_TYPE, query).getKey(), equalTo("query A"));
+		assertThat(HttpEntityFactory.detectGraphQlOperation(JSON_TYPE + "; charset=UTF-8", query).getKey(), equalTo("query A"));
+		assertThat(HttpEntityFactory.detectGraphQlOperation("application/octet-stream", query), nullValue());
+		assertThat(HttpEntityFactory.detectGraphQlOperation(null, query), nullValue());
+		assertThat(
+				HttpEntityFactory.detectGraphQlOperation(JSON_TYPE, "{\"id\": 1}".getBytes(StandardCharsets.UTF_8)),
+				nullValue()
+		);
+		assertThat(HttpEntityFactory.detectGraphQlOperation(JSON_TYPE, new byte[] { '"', 'q' }), nullValue());
+	}
+
+	@Test
+	public void test_query_documents_logged_once_per_scope() {
+		GraphQlLogging logging = new GraphQlLogging.Builder().build();
+		GraphQlOperation operation = GraphQlOperation.detect(GraphQlOperation.GRAPHQL_MIME_TYPE, "query A { a }");
+		Object firstItem = new Object();
+		Object secondItem = new Object();
+
+		assertThat(logging.formatRequest(operation, firstItem), containsString("query A { a }"));
+		assertThat(logging.formatRequest(operation, firstItem), endsWith(", logged before"));
+		assertThat(logging.formatRequest(operation, secondItem), containsString("query A { a }"));
+		assertThat(logging.formatRequest(operation), containsString("query A { a }"));
+		assertThat(logging.formatRequest(operation), endsWith(", logged before"));
+	}
+
+	@Test
+	public void test_graphql_response_decoded_with_content_type_charset() throws IOException {
+		byte[] body = "{\"data\": {\"name\": \"h\u00e9llo\"}}".getBytes(StandardCharsets.UTF_16);
+		BodyCaptureStrategy capture = new GraphQlLogging.Builder().build().responseCapture(JSON_TYPE + "; charset=UTF-16", null);
+
+		CapturedBody captured = capture.capture(BodySource.of(body));
+		assertThat(captured.isSummary(), equalTo(Boolean.TRUE));
+		assertThat(captured.getSummary(), containsString("\"h\u00e9llo\""));
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import com.epam.reportportal.utils.files.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ImageReducerTest {
+
+	private static final String IMAGE_TYPE = "image/jpeg";
+
+	private static byte[] image() throws IOException {
+		return Utils.readInputStreamToBytes(Objects.requireNonNull(ImageReducerTest.class.getClassLoader()
+				.getResourceAsStream("pug/lucky.jpg")));
+	}
+
+	@Test
+	public void test_burst_of_images_over_queue_size_reduced() throws IOException {
+		byte[] image = image();
+		List<ImageReducer.Preview> previews = new ArrayList<>();
+		try (ImageReducer reducer = new ImageReducer.Builder().maxBytes(10_000).previewSize(64).threads(1).queueSize(1).build()) {
+			// Images which don't fit into the queue are reduced in this thread instead of being rejected or queued without a limit
+			for (int i = 0; i < 8; i++) {
+				previews.add(reducer.submit(IMAGE_TYPE, image));
+			}
+		}
+		for (ImageReducer.Preview preview : previews) {
+			assertThat(preview.isReduced(), equalTo(Boolean.TRUE));
+		}
+	}
+
+	@Test
+	public void test_closed_reducer_does_not_reduce_images() throws IOException {
+		byte[] image = image();
+		ImageReducer reducer = new ImageReducer.Builder().maxBytes(10_000).threads(1).build();
+		ImageReducer.Preview preview = reducer.submit(IMAGE_TYPE, image);
+		reducer.close();
+
+		assertThat(preview, notNullValue());
+		assertThat("Submitted images are still reduced", preview.isReduced(), equalTo(Boolean.TRUE));
+		assertThat(reducer.submit(IMAGE_TYPE, image), nullValue());
+	}
+}
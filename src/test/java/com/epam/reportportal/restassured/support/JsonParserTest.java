@@ -0,0 +1,39 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class JsonParserTest {
+
+	@Test
+	public void test_json_parser_round_trip() {
+		String json = "{\"a\":[1,2.5,-3e2],\"b\":{\"c\":\"\\u00e9\\n\\\"\"},\"d\":null,\"e\":true}";
+		Object tree = JsonParser.parse(json);
+		assertThat(tree, instanceOf(Map.class));
+		assertThat(((Map<?, ?>) ((Map<?, ?>) tree).get("b")).get("c"), equalTo("\u00e9\n\""));
+		assertThat(JsonParser.write(JsonParser.parse(JsonParser.write(tree, 0)), 0), equalTo(JsonParser.write(tree, 0)));
+		assertThat(JsonParser.write(tree, 10), equalTo("{\"a\":[1..."));
+		assertThat(JsonParser.parseOrNull("{\"a\": }"), nullValue());
+		assertThat(JsonParser.parseOrNull("[1] 2"), nullValue());
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import com.epam.reportportal.formatting.http.prettifiers.JsonPrettifier;
+import com.epam.reportportal.formatting.http.prettifiers.XmlPrettifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class LazyPrettifiersTest {
+
+	private static final String JSON_TYPE = "application/json";
+
+	@Test
+	public void test_lazy_prettifiers_created_on_first_use() {
+		AtomicInteger jsonCalls = new AtomicInteger();
+		AtomicInteger xmlCalls = new AtomicInteger();
+		Map<String, Function<String, String>> prettifiers = new LazyPrettifiers.Builder().put(JSON_TYPE, () -> {
+			jsonCalls.incrementAndGet();
+			return JsonPrettifier.INSTANCE;
+		}).put("application/xml", () -> {
+			xmlCalls.incrementAndGet();
+			return XmlPrettifier.INSTANCE;
+		}).build();
+
+		assertThat(prettifiers.containsKey(JSON_TYPE), equalTo(Boolean.TRUE));
+		assertThat(jsonCalls.get(), equalTo(0));
+		assertThat(prettifiers.get(JSON_TYPE), sameInstance(JsonPrettifier.INSTANCE));
+		assertThat(prettifiers.get(JSON_TYPE), sameInstance(JsonPrettifier.INSTANCE));
+		assertThat(prettifiers.get("text/plain"), nullValue());
+		assertThat(jsonCalls.get(), equalTo(1));
+		assertThat(xmlCalls.get(), equalTo(0));
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ParamLimiterTest {
+
+	private static final String URI = "http://docker.local:8080/app";
+
+	@Test
+	public void test_form_and_query_params_limited() {
+		Map<String, String> params = new LinkedHashMap<>();
+		for (int i = 0; i < 1000; i++) {
+			params.put("field" + i, "value" + i);
+		}
+		LoggingProfile profile = new LoggingProfile.Builder().maxParams(2).maxParamValueLength(6).build();
+
+		Map<String, String> limited = ParamLimiter.limitParams(params, profile);
+		assertThat(limited, notNullValue());
+		assertThat(new ArrayList<>(limited.keySet()), equalTo(Arrays.asList("field0", "field1", ParamLimiter.OMITTED_PARAMS_NAME)));
+		assertThat(limited.get("field0"), equalTo("value0"));
+		assertThat(limited.get(ParamLimiter.OMITTED_PARAMS_NAME), equalTo("[998 more parameters omitted]"));
+		assertThat(ParamLimiter.limitParams(params, LoggingProfile.DEFAULT), sameInstance(params));
+
+		assertThat(
+				ParamLimiter.limitQuery(URI + "?a=1&b=1234567890&c=3&d=4#top", profile),
+				equalTo(URI + "?a=1&b=123456...[10 characters total]&...[2 more parameters omitted]#top")
+		);
+		assertThat(ParamLimiter.limitQuery(URI + "?a=1", profile), equalTo(URI + "?a=1"));
+		assertThat(
+				ParamLimiter.limitQuery(URI + "?a=1&b=2&c=3", new LoggingProfile.Builder().maxParamsSize(5).build()),
+				equalTo(URI + "?a=1&...[2 more parameters omitted]")
+		);
+	}
+}
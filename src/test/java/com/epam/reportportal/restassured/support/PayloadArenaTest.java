@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class PayloadArenaTest {
+
+	@Test
+	public void test_payload_arena_pools_buffers_and_truncates_when_exhausted() {
+		PayloadArena arena = new PayloadArena(16 * 1024);
+		byte[] data = new byte[10_000];
+		Arrays.fill(data, (byte) 7);
+
+		PayloadArena.Payload first = arena.store(data);
+		assertThat(first, notNullValue());
+		assertThat(first.isTruncated(), equalTo(Boolean.FALSE));
+		assertThat(first.toByteArray(), equalTo(data));
+		assertThat(arena.getUsedBytes(), equalTo(16L * 1024));
+		assertThat(arena.store(new byte[100]), nullValue()); // Exhausted
+
+		first.release();
+		first.release();
+		assertThat(arena.getUsedBytes(), equalTo(0L));
+		PayloadArena.Payload second = arena.store(data);
+		assertThat(second, notNullValue());
+		assertThat(arena.getAllocatedBytes(), equalTo(16L * 1024)); // Reused from the pool
+		second.release();
+
+		PayloadArena.Payload small = arena.store(new byte[100]);
+		assertThat(small, notNullValue());
+		PayloadArena.Payload truncated = arena.store(new byte[20_000]);
+		assertThat(truncated, notNullValue());
+		assertThat(truncated.isTruncated(), equalTo(Boolean.TRUE));
+		assertThat(truncated.getLength(), equalTo(8 * 1024));
+		assertThat(truncated.getOriginalLength(), equalTo(20_000));
+		assertThat(arena.getAllocatedBytes(), lessThanOrEqualTo(arena.getMaxBytes()));
+		assertThat(arena.getTruncatedPayloads(), equalTo(1L));
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import com.epam.reportportal.formatting.http.converters.DefaultHttpHeaderConverter;
+import com.epam.reportportal.listeners.LogLevel;
+import com.epam.reportportal.restassured.ReportPortalRestAssuredLoggingFilter;
+import com.epam.reportportal.service.ReportPortal;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.LaxRedirectStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+public class RedirectChainTest {
+
+	private static final String MOVED = "Moved";
+	// REST Assured log config keeps blacklisted header names case-insensitive
+	private static final Set<String> BLACKLISTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+	static {
+		BLACKLISTED_HEADERS.add("X-Hop");
+	}
+
+	private static HttpServer server;
+	private static String baseUri;
+
+	private static void redirect(com.sun.net.httpserver.HttpExchange exchange, int status, String location, String hop) throws IOException {
+		try (InputStream is = exchange.getRequestBody()) {
+			while (is.read() >= 0) {
+				// Drain the request body
+			}
+		}
+		byte[] body = MOVED.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Location", location);
+		exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=utf-8");
+		exchange.getResponseHeaders().add("X-Hop", hop);
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(body);
+		}
+	}
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16);
+		server.createContext("/first", exchange -> redirect(exchange, 302, "/second", "1"));
+		server.createContext("/second", exchange -> redirect(exchange, 302, "/final", "2"));
+		server.createContext("/moved", exchange -> redirect(exchange, 307, "/final", "1"));
+		server.createContext(
+				"/final", exchange -> {
+					byte[] body = "{\"status\": \"done\"}".getBytes(StandardCharsets.UTF_8);
+					exchange.getResponseHeaders().add("Content-Type", "application/json");
+					exchange.sendResponseHeaders(200, body.length);
+					try (OutputStream os = exchange.getResponseBody()) {
+						os.write(body);
+					}
+				}
+		);
+		server.start();
+		baseUri = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		server.stop(0);
+	}
+
+	private static Filter recording(AtomicReference<RedirectChain> chain) {
+		return (requestSpec, responseSpec, ctx) -> {
+			try (RedirectChain redirects = RedirectChain.install(requestSpec, BLACKLISTED_HEADERS)) {
+				chain.set(redirects);
+				return ctx.next(requestSpec, responseSpec);
+			}
+		};
+	}
+
+	@Test
+	public void test_redirect_hops_recorded_as_deltas() {
+		AtomicReference<RedirectChain> chain = new AtomicReference<>();
+		Response response = RestAssured.given().filter(recording(chain)).get(baseUri + "/first");
+
+		assertThat(response.statusCode(), equalTo(200));
+		assertThat(chain.get().getRedirectCount(), equalTo(2));
+		String redirects = chain.get().format(DefaultHttpHeaderConverter.INSTANCE, true);
+		assertThat(redirects, startsWith("**REDIRECTS (2)**"));
+		assertThat(redirects, containsString("**<<< RESPONSE (hop 1)**\nHTTP/1.1 302 Temporary Redirect\nLocation: /second"));
+		assertThat(redirects, containsString("**>>> REQUEST (hop 2)**\nGET to " + baseUri + "/second"));
+		assertThat(redirects, containsString("**<<< RESPONSE (hop 2)**\nHTTP/1.1 302 Temporary Redirect\nLocation: /final"));
+		assertThat(redirects, containsString("**>>> REQUEST (hop 3)**\nGET to " + baseUri + "/final"));
+		assertThat("The first body is logged once", redirects, containsString("```\n" + MOVED + "\n```"));
+		assertThat("The same body is referenced", redirects, containsString("**Body**\nSame as hop 1"));
+		assertThat("Blacklisted header value is not logged", redirects, not(containsString(": 2")));
+		assertThat("The final response is not a part of the chain", redirects, not(containsString("done")));
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void test_resent_request_body_referenced() {
+		AtomicReference<RedirectChain> chain = new AtomicReference<>();
+		// The default strategy follows only GET and HEAD requests
+		RestAssuredConfig config = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(() -> {
+			DefaultHttpClient client = new DefaultHttpClient();
+			client.setRedirectStrategy(new LaxRedirectStrategy());
+			return client;
+		}));
+		Response response = RestAssured.given().config(config).filter(recording(chain)).body("{\"id\": 1}").post(baseUri + "/moved");
+
+		assertThat(response.statusCode(), equalTo(200));
+		String redirects = chain.get().format(null, true);
+		assertThat(redirects, containsString("**>>> REQUEST (hop 2)**\nPOST to " + baseUri + "/final\n\n**Body**\nSame as hop 1"));
+		assertThat("Headers are skipped without a converter", redirects, not(containsString("Changed headers")));
+	}
+
+	@Test
+	public void test_no_redirects_formatted_as_null() {
+		AtomicReference<RedirectChain> chain = new AtomicReference<>();
+		RestAssured.given().filter(recording(chain)).get(baseUri + "/final");
+
+		assertThat(chain.get().getRedirectCount(), equalTo(0));
+		assertThat(chain.get().format(DefaultHttpHeaderConverter.INSTANCE, true), nullValue());
+	}
+
+	@Test
+	public void test_filter_logs_redirects_between_request_and_response() {
+		List<String> logs = new CopyOnWriteArrayList<>();
+		try (MockedStatic<ReportPortal> rp = Mockito.mockStatic(ReportPortal.class)) {
+			rp.when(() -> ReportPortal.emitLog(anyString(), anyString(), any(Instant.class))).thenAnswer(invocation -> {
+				logs.add(invocation.getArgument(0));
+				return true;
+			});
+			ReportPortalRestAssuredLoggingFilter filter = new ReportPortalRestAssuredLoggingFilter(42, LogLevel.INFO).setRedirectLogging(true);
+			RestAssured.given().filter(filter).get(baseUri + "/first");
+		}
+
+		assertThat(logs, hasSize(3));
+		assertThat(logs.get(0), containsString("**>>> REQUEST**"));
+		assertThat(logs.get(1), startsWith("**REDIRECTS (2)**"));
+		assertThat(logs.get(2), allOf(containsString("**<<< RESPONSE**"), containsString("done")));
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import io.restassured.response.Response;
+import io.restassured.response.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ResponseDifferTest {
+
+	@SuppressWarnings("rawtypes")
+	private static ExchangeSnapshot response(String body) {
+		Response response = mock(Response.class);
+		when(response.statusCode()).thenReturn(200);
+		when(response.getStatusLine()).thenReturn("HTTP/1.1 200");
+		when(response.getContentType()).thenReturn("application/json");
+		ResponseBody responseBody = mock(ResponseBody.class);
+		when(response.getBody()).thenReturn(responseBody);
+		when(responseBody.asByteArray()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+		return ExchangeSnapshot.captureResponse(response);
+	}
+
+	@Test
+	public void test_base_responses_not_shared_between_scopes() {
+		ResponseDiffer differ = new ResponseDiffer.Builder().build();
+		Object firstItem = new Object();
+		Object secondItem = new Object();
+
+		assertThat(differ.diff(response("{\"id\": 1}"), firstItem), nullValue());
+		assertThat("The first response of another scope is logged in full", differ.diff(response("{\"id\": 2}"), secondItem), nullValue());
+		assertThat(differ.diff(response("{\"id\": 3}"), firstItem), containsString("~ $.id: 1 -> 3"));
+		assertThat(differ.diff(response("{\"id\": 4}"), secondItem), containsString("~ $.id: 2 -> 4"));
+		differ.discardRetained();
+	}
+
+	@Test
+	public void test_numbers_compared_by_value() {
+		ResponseDiffer differ = new ResponseDiffer.Builder().build();
+
+		assertThat(differ.diff(response("{\"price\": 1.0, \"count\": 2}")), nullValue());
+		String diff = differ.diff(response("{\"price\": 1, \"count\": 2.00}"));
+
+		assertThat(diff, containsString("No changes"));
+		differ.discardRetained();
+	}
+
+	@Test
+	public void test_diffed_responses_retained_as_parsed_bodies() {
+		ResponseDiffer differ = new ResponseDiffer.Builder().maxRetained(1).build();
+
+		assertThat(differ.diff(response("{\"id\": 1, \"tags\": [\"x\"], \"owner\": {\"name\": \"pug\"}}")), nullValue());
+		assertThat(differ.diff(response("{\"id\": 2, \"tags\": [\"x\"], \"owner\": {\"name\": \"pug\"}}")), notNullValue());
+		assertThat(differ.diff(response("{\"id\": 3, \"tags\": [\"x\", \"y\"], \"owner\": {\"name\": \"pug\"}}")), notNullValue());
+
+		List<ResponseDiffer.DiffedResponse> retained = differ.drainRetained();
+		assertThat(retained, hasSize(1));
+		assertThat(retained.get(0).getStatusLine(), equalTo("HTTP/1.1 200"));
+		assertThat(retained.get(0).getBody(), equalTo("{\"id\":3,\"tags\":[\"x\",\"y\"],\"owner\":{\"name\":\"pug\"}}"));
+		assertThat(differ.drainRetained(), empty());
+	}
+}
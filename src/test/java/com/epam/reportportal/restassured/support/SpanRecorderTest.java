@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 EPAM Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.reportportal.restassured.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class SpanRecorderTest {
+
+	private static ExchangeSpan span(TraceParent trace) {
+		return new ExchangeSpan.Builder(trace.getTraceId(), trace.newSpan().getSpanId(), "GET /pugs").time(0, 1).build();
+	}
+
+	@Test
+	public void test_full_batch_exported_in_background() throws InterruptedException {
+		List<String> exportThreads = new CopyOnWriteArrayList<>();
+		CountDownLatch exported = new CountDownLatch(1);
+		TraceParent trace = TraceParent.newTrace();
+		try (SpanRecorder recorder = new SpanRecorder(spans -> {
+			exportThreads.add(Thread.currentThread().getName());
+			exported.countDown();
+		}, 2)) {
+			recorder.record(span(trace));
+			recorder.record(span(trace));
+
+			assertThat(exported.await(10, TimeUnit.SECONDS), equalTo(Boolean.TRUE));
+			assertThat(exportThreads, contains("rp-span-exporter"));
+		}
+	}
+
+	@Test
+	public void test_rest_of_spans_exported_on_close() {
+		InMemorySpanExporter exporter = new InMemorySpanExporter();
+		TraceParent trace = TraceParent.newTrace();
+		SpanRecorder recorder = new SpanRecorder(exporter, 2);
+		for (int i = 0; i < 3; i++) {
+			recorder.record(span(trace));
+		}
+		recorder.close();
+
+		assertThat(exporter.getSpans(), hasSize(3));
+		recorder.record(span(trace));
+		recorder.flush();
+		assertThat(exporter.getSpans(), hasSize(4));
+		assertThat(recorder.getDroppedSpans(), equalTo(0L));
+	}
+
+	@Test
+	public void test_spans_exported_to_otlp_json_file() throws IOException {
+		File file = File.createTempFile("spans", ".jsonl");
+		file.deleteOnExit();
+		TraceParent trace = TraceParent.newTrace();
+		SpanRecorder recorder = new SpanRecorder(new OtlpJsonFileSpanExporter(file.toPath(), "pug-service"), 2);
+		for (int i = 0; i < 3; i++) {
+			recorder.record(new ExchangeSpan.Builder(trace.getTraceId(), trace.newSpan().getSpanId(), "GET /pugs/{id}").request(
+					"GET",
+					"http://docker.local/pugs/" + i,
+					0
+			).response(i < 2 ? 200 : 500, 42).time(1_000_000_000L, 1_250_000_000L).build());
+		}
+		recorder.flush();
+
+		List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		assertThat(lines, hasSize(2)); // A full batch of 2 and the flushed rest
+		Map<?, ?> request = (Map<?, ?>) JsonParser.parse(lines.get(1));
+		Map<?, ?> resourceSpans = (Map<?, ?>) ((List<?>) request.get("resourceSpans")).get(0);
+		assertThat(lines.get(0), containsString("{\"key\":\"service.name\",\"value\":{\"stringValue\":\"pug-service\"}}"));
+		Map<?, ?> scopeSpans = (Map<?, ?>) ((List<?>) resourceSpans.get("scopeSpans")).get(0);
+		Map<?, ?> span = (Map<?, ?>) ((List<?>) scopeSpans.get("spans")).get(0);
+		assertThat(span.get("traceId"), equalTo(trace.getTraceId()));
+		assertThat(span.get("name"), equalTo("GET /pugs/{id}"));
+		assertThat(span.get("startTimeUnixNano"), equalTo("1000000000"));
+		assertThat(span.get("endTimeUnixNano"), equalTo("1250000000"));
+		assertThat(span.get("status"), equalTo(Collections.singletonMap("code", new BigDecimal(2))));
+		assertThat(recorder.getDroppedSpans(), equalTo(0L));
+	}
+}